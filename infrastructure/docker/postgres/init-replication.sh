@@ -0,0 +1,12 @@
+#!/bin/bash
+# Script to let the postgres-replica service stream from this instance
+
+set -e
+set -u
+
+echo "Creating replication user"
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+    CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator_pass';
+EOSQL
+
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,36 @@
+package com.fitnessplatform.user_service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fitnessplatform.user_service.user.User;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Shared inputs so every suite measures the same representative user
+public final class BenchmarkFixtures {
+
+  public static final String JWT_SECRET = "benchSecretKey12345678901234567890123456789012345678901234567890";
+
+  private BenchmarkFixtures() {}
+
+  public static User user() {
+    User user = new User("alice", "alice@example.com", "$2a$10$abcdefghijklmnopqrstuv", LocalDate.of(1990, 5, 17),
+        168, 61.5, User.Gender.FEMALE, User.ActivityLevel.MODERATELY_ACTIVE, User.FitnessGoal.BUILD_MUSCLE,
+        58.0, "METRIC");
+    user.setId(42L);
+    user.setTimezone("Europe/Berlin");
+    user.setCreatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+    user.setUpdatedAt(LocalDateTime.of(2025, 6, 7, 8, 9, 10));
+    user.setVersion(3L);
+    return user;
+  }
+
+  // Configured like the Spring Boot auto-configured mapper the controllers use
+  public static ObjectMapper objectMapper() {
+    return Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+  }
+}
@@ -0,0 +1,39 @@
+package com.fitnessplatform.user_service;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Runs every suite once single-threaded and once with one thread per core (at least two,
+// so shared state is contended), with the GC/allocation profiler, writing JMH JSON to
+// target/jmh/results-<threads>t.json for diffing between commits.
+// Any command-line arguments are handed to the stock JMH launcher instead.
+public class BenchmarkRunner {
+
+  public static void main(String[] args) throws Exception {
+    if (args.length > 0) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+
+    Path resultDir = Path.of("target", "jmh");
+    Files.createDirectories(resultDir);
+    int contended = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    for (int threads : new int[] {1, contended}) {
+      Options options = new OptionsBuilder()
+          .include("com\\.fitnessplatform\\.user_service\\..*Benchmark")
+          .threads(threads)
+          .addProfiler(GCProfiler.class)
+          .resultFormat(ResultFormatType.JSON)
+          .result(resultDir.resolve("results-" + threads + "t.json").toString())
+          .build();
+      new Runner(options).run();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.fitnessplatform.user_service.analytics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// One cohort query over an in-memory snapshot: a parallel scan on the analytics pool
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CohortScanBenchmark {
+
+  @Param({"10000000"})
+  private int rows;
+
+  private CohortAnalyticsService service;
+  private CohortQuery query;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    ProfileColumns.Builder builder = new ProfileColumns.Builder(rows);
+    for (int i = 0; i < rows; i++) {
+      builder.add(150 + random.nextInt(50), 50 + random.nextInt(60), 55 + random.nextInt(40),
+          1940 + random.nextInt(70), random.nextInt(5) - 1, random.nextInt(6) - 1, random.nextInt(8) - 1);
+    }
+    service = new CohortAnalyticsService();
+    service.init();
+    service.replaceSnapshot(builder.build(Instant.now()));
+    query = new CohortQuery(CohortQuery.Dimension.FITNESS_GOAL, CohortQuery.Metric.BMI, 10, 50, 40);
+  }
+
+  @TearDown
+  public void tearDown() {
+    service.shutdown();
+  }
+
+  @Benchmark
+  public CohortReport fitnessGoalBmi() {
+    return service.query(query);
+  }
+}
@@ -0,0 +1,75 @@
+package com.fitnessplatform.user_service.jwt;
+
+import com.fitnessplatform.user_service.BenchmarkFixtures;
+import com.fitnessplatform.user_service.revocation.TokenRevocationService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// End-to-end token handling of one authenticated request: header parse, verification,
+// revocation check, authorities (claims-only or via UserDetailsService) and context setup
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+  @Param({"false", "true"})
+  public boolean stateless;
+
+  private JwtAuthenticationFilter filter;
+  private String authorization;
+
+  private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+  // Request objects are per thread; the filter and its collaborators are shared
+  @State(Scope.Thread)
+  public static class Exchange {
+    MockHttpServletRequest request;
+    MockHttpServletResponse response;
+
+    @Setup
+    public void setUp(JwtAuthenticationFilterBenchmark benchmark) {
+      request = new MockHttpServletRequest("GET", "/api/users/42");
+      request.addHeader("Authorization", benchmark.authorization);
+      response = new MockHttpServletResponse();
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    JwtUtil jwtUtil = JwtFixtures.jwtUtil();
+    authorization = "Bearer " + jwtUtil.generateToken(BenchmarkFixtures.user());
+
+    // Stands in for the repository lookup, so only the filter's own work is measured
+    UserDetails details = org.springframework.security.core.userdetails.User
+        .withUsername("alice@example.com").password("hash").authorities("ROLE_USER").build();
+
+    filter = new JwtAuthenticationFilter();
+    ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+    ReflectionTestUtils.setField(filter, "userDetailsService", (UserDetailsService) email -> details);
+    TokenRevocationService revocations = new TokenRevocationService();
+    TokenEpochTable tokenEpochTable = new TokenEpochTable();
+    ReflectionTestUtils.setField(tokenEpochTable, "tokenRevocationService", revocations);
+    ReflectionTestUtils.setField(filter, "tokenEpochTable", tokenEpochTable);
+    ReflectionTestUtils.setField(filter, "tokenRevocationService", revocations);
+    ReflectionTestUtils.setField(filter, "stateless", stateless);
+  }
+
+  @Benchmark
+  public Object filter(Exchange exchange) throws Exception {
+    filter.doFilter(exchange.request, exchange.response, NO_OP_CHAIN);
+    Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    SecurityContextHolder.clearContext();
+    return principal;
+  }
+}
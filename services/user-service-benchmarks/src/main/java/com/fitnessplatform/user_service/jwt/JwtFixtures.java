@@ -0,0 +1,45 @@
+package com.fitnessplatform.user_service.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessplatform.user_service.BenchmarkFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// Builds JwtUtil the way Spring would (same package, for the package-private init)
+final class JwtFixtures {
+
+  private JwtFixtures() {}
+
+  static JwtUtil jwtUtil() {
+    return jwtUtil("ES256");
+  }
+
+  // algorithm: ES256 (the default) or HS256
+  static JwtUtil jwtUtil(String algorithm) {
+    JwtUtil jwtUtil = new JwtUtil();
+    ReflectionTestUtils.setField(jwtUtil, "secret", BenchmarkFixtures.JWT_SECRET);
+    ReflectionTestUtils.setField(jwtUtil, "signingAlgorithm", algorithm);
+    ReflectionTestUtils.setField(jwtUtil, "acceptHs256", true);
+    ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 86_400_000L);
+    ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604_800_000L);
+    ReflectionTestUtils.setField(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(jwtUtil, "signingKeys", signingKeys());
+    jwtUtil.init();
+    return jwtUtil;
+  }
+
+  // One ephemeral ES256 key, as the service uses with jwt.keys.allow-ephemeral
+  private static JwtSigningKeys signingKeys() {
+    JwtSigningKeys keys = new JwtSigningKeys();
+    ReflectionTestUtils.setField(keys, "directory", "");
+    ReflectionTestUtils.setField(keys, "activeKid", "");
+    ReflectionTestUtils.setField(keys, "allowEphemeral", true);
+    ReflectionTestUtils.setField(keys, "objectMapper", new ObjectMapper());
+    try {
+      keys.init();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,55 @@
+package com.fitnessplatform.user_service.jwt;
+
+import com.fitnessplatform.user_service.BenchmarkFixtures;
+import com.fitnessplatform.user_service.user.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Token signing and verification; one JwtUtil shared by all threads, as in the service
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+  @Param({"ES256", "HS256"})
+  public String algorithm;
+
+  private JwtUtil jwtUtil;
+  private User user;
+  private String accessToken;
+
+  @Setup
+  public void setUp() {
+    jwtUtil = JwtFixtures.jwtUtil(algorithm);
+    user = BenchmarkFixtures.user();
+    accessToken = jwtUtil.generateToken(user);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtUtil.generateToken(user);
+  }
+
+  @Benchmark
+  public String generateRefreshToken() {
+    return jwtUtil.generateRefreshToken(user);
+  }
+
+  // extractAllClaims is private; extractClaim with the identity resolver is exactly that parse
+  @Benchmark
+  public Claims extractAllClaims() {
+    return jwtUtil.extractClaim(accessToken, Function.identity());
+  }
+
+  // The single parse the filter and /validate perform
+  @Benchmark
+  public VerifiedToken verify() {
+    return jwtUtil.verify(accessToken);
+  }
+}
@@ -0,0 +1,104 @@
+package com.fitnessplatform.user_service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fitnessplatform.user_service.BenchmarkFixtures;
+import com.fitnessplatform.user_service.auth.AuthResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Response building plus JSON serialization for AuthController and UserController,
+// with per-type writers cached the way Spring MVC's Jackson converter caches them.
+// legacyProfileResponse keeps the former HashMap builder as the baseline; compare
+// gc.alloc.rate.norm against profileResponse with -prof gc.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseBenchmark {
+
+  private User user;
+  private List<User> page;
+  private ObjectWriter mapWriter;
+  private ObjectWriter authWriter;
+  private ObjectWriter profileWriter;
+  private ObjectWriter summaryWriter;
+  private ObjectWriter listWriter;
+
+  @Setup
+  public void setUp() {
+    user = BenchmarkFixtures.user();
+    page = Collections.nCopies(20, user);
+    ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+    mapWriter = mapper.writer();
+    authWriter = mapper.writerFor(AuthResponse.class);
+    profileWriter = mapper.writerFor(ProfileResponse.class);
+    summaryWriter = mapper.writerFor(FitnessSummaryResponse.class);
+    listWriter = mapper.writerFor(UserListResponse.class);
+  }
+
+  // POST /api/auth/login
+  @Benchmark
+  public byte[] authResponse() throws Exception {
+    return authWriter.writeValueAsBytes(AuthResponse.of("Login successful", user, "access-token", "refresh-token"));
+  }
+
+  // GET /api/users/{id}
+  @Benchmark
+  public byte[] profileResponse() throws Exception {
+    return profileWriter.writeValueAsBytes(ProfileResponse.of("Profile retrieved successfully", user));
+  }
+
+  // GET /api/users/{id}, built the way UserController did before typed responses
+  @Benchmark
+  public byte[] legacyProfileResponse() throws Exception {
+    return mapWriter.writeValueAsBytes(legacyUserResponse("Profile retrieved successfully", user));
+  }
+
+  // GET /api/users/{id}/fitness-summary
+  @Benchmark
+  public byte[] fitnessSummaryResponse() throws Exception {
+    return summaryWriter.writeValueAsBytes(FitnessSummaryResponse.of("Fitness summary retrieved successfully", user));
+  }
+
+  // GET /api/users (one page of 20)
+  @Benchmark
+  public byte[] userListResponse() throws Exception {
+    List<UserResponse> users = page.stream().map(UserResponse::from).toList();
+    return listWriter.writeValueAsBytes(new UserListResponse("Users retrieved successfully", users, "cursor"));
+  }
+
+  private static Map<String, Object> legacyUserResponse(String message, User user) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("message", message);
+
+    Map<String, Object> userMap = new HashMap<>();
+    userMap.put("id", user.getId());
+    userMap.put("name", user.getUsername());
+    userMap.put("email", user.getEmail());
+    userMap.put("dateOfBirth", user.getDateOfBirth() != null ? user.getDateOfBirth().toString() : null);
+    userMap.put("heightCm", user.getHeightCm());
+    userMap.put("currentWeightKg", user.getCurrentWeightKg());
+    userMap.put("gender", user.getGender() != null ? user.getGender().toString() : null);
+    userMap.put("activityLevel", user.getActivityLevel() != null ? user.getActivityLevel().toString() : null);
+    userMap.put("fitnessGoal", user.getFitnessGoal() != null ? user.getFitnessGoal().toString() : null);
+    userMap.put("targetWeightKg", user.getTargetWeightKg());
+    userMap.put("preferredUnits", user.getPreferredUnits());
+    userMap.put("timezone", user.getTimezone());
+    userMap.put("age", user.getAge());
+    userMap.put("bmi", user.getBMI());
+    userMap.put("createdAt", user.getCreatedAt());
+    userMap.put("updatedAt", user.getUpdatedAt());
+    userMap.put("version", user.getVersion());
+
+    response.put("user", userMap);
+    return response;
+  }
+}
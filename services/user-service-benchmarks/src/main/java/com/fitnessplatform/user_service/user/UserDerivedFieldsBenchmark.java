@@ -0,0 +1,34 @@
+package com.fitnessplatform.user_service.user;
+
+import com.fitnessplatform.user_service.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Derived fields computed on every profile and summary response
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserDerivedFieldsBenchmark {
+
+  private User user;
+
+  @Setup
+  public void setUp() {
+    user = BenchmarkFixtures.user();
+  }
+
+  @Benchmark
+  public double bmi() {
+    return user.getBMI();
+  }
+
+  // Reads the clock (LocalDate.now()) on every call
+  @Benchmark
+  public int age() {
+    return user.getAge();
+  }
+}
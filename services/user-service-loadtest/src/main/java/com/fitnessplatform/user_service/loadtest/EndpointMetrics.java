@@ -0,0 +1,51 @@
+package com.fitnessplatform.user_service.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency histograms (microseconds) and status outcomes
+final class EndpointMetrics {
+
+  record Snapshot(Histogram latency, long errors, long busy, long conflicts) {
+  }
+
+  private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> busy = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> conflicts = new ConcurrentHashMap<>();
+
+  void record(String endpoint, long latencyNanos, int status) {
+    recorders.computeIfAbsent(endpoint, e -> new Recorder(3))
+        .recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    if (status == 503) {
+      counter(busy, endpoint).increment(); // Password hashing backpressure
+    } else if (status == 412) {
+      counter(conflicts, endpoint).increment(); // Stale If-Match: concurrent edits of one account
+    } else if (status >= 400 || status == 0) {
+      counter(errors, endpoint).increment();
+    }
+  }
+
+  Map<String, Snapshot> snapshot() {
+    Map<String, Snapshot> snapshot = new TreeMap<>();
+    recorders.forEach((endpoint, recorder) -> snapshot.put(endpoint, new Snapshot(
+        recorder.getIntervalHistogram(),
+        sum(errors, endpoint), sum(busy, endpoint), sum(conflicts, endpoint))));
+    return snapshot;
+  }
+
+  private static LongAdder counter(Map<String, LongAdder> counters, String endpoint) {
+    return counters.computeIfAbsent(endpoint, e -> new LongAdder());
+  }
+
+  private static long sum(Map<String, LongAdder> counters, String endpoint) {
+    LongAdder counter = counters.get(endpoint);
+    return counter != null ? counter.sum() : 0;
+  }
+}
@@ -0,0 +1,180 @@
+package com.fitnessplatform.user_service.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load generator for user-service: sessions arrive on a fixed schedule
+// regardless of how fast earlier ones complete, and every request is timed from when
+// it should have been sent. Percentiles therefore include queueing the service causes.
+public final class LoadTest implements Scenario.Context {
+
+  private final LoadTestOptions options;
+  private final UserServiceClient client;
+  private final EndpointMetrics metrics = new EndpointMetrics();
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong userNumbers = new AtomicLong();
+  private final List<String> returningAccounts = new ArrayList<>();
+
+  private final AtomicLong inFlight = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong aborted = new AtomicLong();
+  private long started;
+  private long maxScheduleLagNanos;
+
+  LoadTest(LoadTestOptions options) {
+    this.options = options;
+    this.client = new UserServiceClient(options.baseUrl(), Duration.ofSeconds(options.timeoutSeconds()), metrics);
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTest loadTest = new LoadTest(LoadTestOptions.parse(args));
+    loadTest.seedReturningUsers();
+    loadTest.run();
+    loadTest.report();
+  }
+
+  @Override
+  public String runId() {
+    return runId;
+  }
+
+  @Override
+  public long nextUserNumber() {
+    return userNumbers.incrementAndGet();
+  }
+
+  @Override
+  public List<String> returningAccounts() {
+    return returningAccounts;
+  }
+
+  @Override
+  public int profileReads() {
+    return options.profileReads();
+  }
+
+  // Registered one at a time before the clock starts; never measured
+  void seedReturningUsers() {
+    if (!options.mix().containsKey(Scenario.RETURNING_USER)) {
+      return;
+    }
+    System.out.printf("Registering %d returning-user accounts at %s%n", options.returningUsers(), options.baseUrl());
+    for (int i = 0; i < options.returningUsers(); i++) {
+      Session session = new Session(0, false);
+      session.email = "loadtest-" + runId + "-returning-" + i + "@example.com";
+      session.password = Scenario.PASSWORD;
+      Scenario.register(client, session).join();
+      returningAccounts.add(session.email);
+    }
+  }
+
+  void run() throws InterruptedException {
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+    long warmupNanos = TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+    long endNanos = warmupNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+    System.out.printf("Running %.1f sessions/s for %ds (+%ds warm-up), mix %s%n",
+        options.rate(), options.durationSeconds(), options.warmupSeconds(), options.mix());
+
+    long start = System.nanoTime();
+    for (long i = 0; ; i++) {
+      long offset = i * intervalNanos;
+      if (offset >= endNanos) {
+        break;
+      }
+      long intended = start + offset;
+      long now;
+      while ((now = System.nanoTime()) < intended) {
+        LockSupport.parkNanos(intended - now);
+      }
+      // The generator itself falling behind is reported, not hidden
+      maxScheduleLagNanos = Math.max(maxScheduleLagNanos, now - intended);
+      startSession(new Session(intended, offset >= warmupNanos), pickScenario());
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.timeoutSeconds() * 10L);
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(100);
+    }
+  }
+
+  private void startSession(Session session, Scenario scenario) {
+    started++;
+    inFlight.incrementAndGet();
+    CompletableFuture<Void> visit;
+    try {
+      visit = scenario.run(client, session, this);
+    } catch (RuntimeException e) {
+      visit = CompletableFuture.failedFuture(e);
+    }
+    visit.whenComplete((result, failure) -> {
+      (failure == null ? completed : aborted).incrementAndGet();
+      inFlight.decrementAndGet();
+    });
+  }
+
+  private Scenario pickScenario() {
+    int total = options.mix().values().stream().mapToInt(Integer::intValue).sum();
+    int pick = ThreadLocalRandom.current().nextInt(total);
+    for (Map.Entry<Scenario, Integer> entry : options.mix().entrySet()) {
+      pick -= entry.getValue();
+      if (pick < 0) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("Empty scenario mix");
+  }
+
+  void report() throws IOException {
+    Path out = options.outputDir();
+    Files.createDirectories(out);
+    Map<String, EndpointMetrics.Snapshot> snapshot = metrics.snapshot();
+
+    try (PrintStream summary = new PrintStream(Files.newOutputStream(out.resolve("summary.txt")))) {
+      for (PrintStream stream : List.of(System.out, summary)) {
+        stream.printf("%nSessions: %d started, %d completed, %d aborted, %d still in flight%n",
+            started, completed.get(), aborted.get(), inFlight.get());
+        stream.printf("Max schedule lag: %.1f ms%n%n", maxScheduleLagNanos / 1e6);
+        stream.printf("%-40s %8s %8s %8s %8s %8s %9s %7s %6s %6s%n",
+            "endpoint (ms)", "p50", "p90", "p99", "p99.9", "max", "count", "errors", "503", "412");
+        snapshot.forEach((endpoint, s) -> {
+          Histogram h = s.latency();
+          stream.printf("%-40s %8.1f %8.1f %8.1f %8.1f %8.1f %9d %7d %6d %6d%n", endpoint,
+              millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+              millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+              millis(h.getMaxValue()), h.getTotalCount(), s.errors(), s.busy(), s.conflicts());
+        });
+      }
+    }
+
+    // Full distributions in HdrHistogram's .hgrm format (plottable with its online plotter)
+    for (Map.Entry<String, EndpointMetrics.Snapshot> entry : snapshot.entrySet()) {
+      Path file = out.resolve(slug(entry.getKey()) + ".hgrm");
+      try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+        entry.getValue().latency().outputPercentileDistribution(stream, 1000.0);
+      }
+    }
+    System.out.println("\nWrote " + out.toAbsolutePath());
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+
+  // "GET /api/users/{id}" -> "get-api-users-id"
+  private static String slug(String endpoint) {
+    return endpoint.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+  }
+}
@@ -0,0 +1,48 @@
+package com.fitnessplatform.user_service.loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Command line: -name value pairs, all optional
+record LoadTestOptions(
+    String baseUrl,
+    double rate,            // new sessions per second (open model)
+    int durationSeconds,    // measured phase
+    int warmupSeconds,      // sessions started during warm-up are not recorded
+    Map<Scenario, Integer> mix,
+    int returningUsers,     // accounts registered up front for the returning-user flow
+    int profileReads,       // profile GETs per session
+    int timeoutSeconds,
+    Path outputDir) {
+
+  static LoadTestOptions parse(String[] args) {
+    Map<String, String> values = new LinkedHashMap<>();
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      if (!args[i].startsWith("-")) {
+        throw new IllegalArgumentException("Expected -name value, got " + args[i]);
+      }
+      values.put(args[i].substring(1), args[i + 1]);
+    }
+    return new LoadTestOptions(
+        values.getOrDefault("url", "http://localhost:8091"),
+        Double.parseDouble(values.getOrDefault("rate", "20")),
+        Integer.parseInt(values.getOrDefault("duration", "60")),
+        Integer.parseInt(values.getOrDefault("warmup", "10")),
+        parseMix(values.getOrDefault("mix", "new=20,returning=80")),
+        Integer.parseInt(values.getOrDefault("returning-users", "100")),
+        Integer.parseInt(values.getOrDefault("profile-reads", "3")),
+        Integer.parseInt(values.getOrDefault("timeout", "10")),
+        Path.of(values.getOrDefault("out", "target/loadtest")));
+  }
+
+  // e.g. "new=20,returning=80" (weights, not necessarily percentages)
+  private static Map<Scenario, Integer> parseMix(String mix) {
+    Map<Scenario, Integer> weights = new LinkedHashMap<>();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.split("=");
+      weights.put(Scenario.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+    return weights;
+  }
+}
@@ -0,0 +1,161 @@
+package com.fitnessplatform.user_service.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// User flows against AuthController and UserController. Steps run back to back
+// (no think time); a failed step ends the session.
+enum Scenario {
+
+  // First visit: register -> login -> profile reads -> summary -> PATCH weight -> refresh -> logout
+  NEW_USER("new") {
+    @Override
+    CompletableFuture<Void> run(UserServiceClient client, Session session, Context context) {
+      session.email = "loadtest-" + context.runId() + "-" + context.nextUserNumber() + "@example.com";
+      session.password = PASSWORD;
+      return register(client, session)
+          .thenCompose(r -> login(client, session))
+          .thenCompose(r -> browseAndUpdate(client, session, context.profileReads()));
+    }
+  },
+
+  // Existing account (registered before the run): login -> profile reads -> summary -> PATCH -> refresh -> logout
+  RETURNING_USER("returning") {
+    @Override
+    CompletableFuture<Void> run(UserServiceClient client, Session session, Context context) {
+      List<String> accounts = context.returningAccounts();
+      session.email = accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+      session.password = PASSWORD;
+      return login(client, session)
+          .thenCompose(r -> browseAndUpdate(client, session, context.profileReads()));
+    }
+  };
+
+  static final String PASSWORD = "LoadTest-Password-1";
+
+  // What scenarios need from the run
+  interface Context {
+    String runId();
+    long nextUserNumber();
+    List<String> returningAccounts();
+    int profileReads();
+  }
+
+  static final class SessionAbortedException extends RuntimeException {
+    SessionAbortedException(String endpoint, int status) {
+      super(endpoint + " returned " + (status == 0 ? "no response" : status), null, false, false);
+    }
+  }
+
+  private final String name;
+
+  Scenario(String name) {
+    this.name = name;
+  }
+
+  abstract CompletableFuture<Void> run(UserServiceClient client, Session session, Context context);
+
+  static Scenario fromName(String name) {
+    for (Scenario scenario : values()) {
+      if (scenario.name.equals(name)) return scenario;
+    }
+    throw new IllegalArgumentException("Unknown scenario: " + name);
+  }
+
+  static CompletableFuture<UserServiceClient.Response> register(UserServiceClient client, Session session) {
+    String endpoint = "POST /api/auth/register";
+    return client.post(endpoint, "/api/auth/register",
+            Map.of("username", "Load Test", "email", session.email, "password", session.password), null, session)
+        .thenApply(response -> tokens(session, expect(response, endpoint)));
+  }
+
+  private static CompletableFuture<Void> browseAndUpdate(UserServiceClient client, Session session, int profileReads) {
+    CompletableFuture<?> chain = CompletableFuture.completedFuture(null);
+    for (int i = 0; i < profileReads; i++) {
+      chain = chain.thenCompose(r -> readProfile(client, session));
+    }
+    return chain
+        .thenCompose(r -> fitnessSummary(client, session))
+        .thenCompose(r -> patchWeight(client, session))
+        .thenCompose(r -> refresh(client, session))
+        .thenCompose(r -> logout(client, session))
+        .thenApply(r -> null);
+  }
+
+  private static CompletableFuture<UserServiceClient.Response> login(UserServiceClient client, Session session) {
+    String endpoint = "POST /api/auth/login";
+    return client.post(endpoint, "/api/auth/login",
+            Map.of("email", session.email, "password", session.password), null, session)
+        .thenApply(response -> tokens(session, expect(response, endpoint)));
+  }
+
+  // Later reads revalidate with If-None-Match, as the mobile app does
+  private static CompletableFuture<UserServiceClient.Response> readProfile(UserServiceClient client, Session session) {
+    String endpoint = "GET /api/users/{id}";
+    return client.get(endpoint, "/api/users/" + session.userId, session.accessToken, session.etag, session)
+        .thenApply(response -> {
+          if (response.status() != 304) {
+            expect(response, endpoint);
+          }
+          if (response.etag() != null) {
+            session.etag = response.etag();
+          }
+          return response;
+        });
+  }
+
+  private static CompletableFuture<UserServiceClient.Response> fitnessSummary(UserServiceClient client, Session session) {
+    String endpoint = "GET /api/users/{id}/fitness-summary";
+    return client.get(endpoint, "/api/users/" + session.userId + "/fitness-summary", session.accessToken, null, session)
+        .thenApply(response -> expect(response, endpoint));
+  }
+
+  // 412 (another session edited the same account) is an expected outcome, not a failure
+  private static CompletableFuture<UserServiceClient.Response> patchWeight(UserServiceClient client, Session session) {
+    String endpoint = "PATCH /api/users/{id}";
+    double weight = 50 + ThreadLocalRandom.current().nextInt(500) / 10.0;
+    return client.mergePatch(endpoint, "/api/users/" + session.userId, Map.of("currentWeightKg", weight),
+            session.accessToken, session.etag, session)
+        .thenApply(response -> {
+          if (response.status() != 412) {
+            expect(response, endpoint);
+          }
+          session.etag = response.etag();
+          return response;
+        });
+  }
+
+  private static CompletableFuture<UserServiceClient.Response> refresh(UserServiceClient client, Session session) {
+    String endpoint = "POST /api/auth/refresh";
+    return client.post(endpoint, "/api/auth/refresh", Map.of("refreshToken", session.refreshToken), null, session)
+        .thenApply(response -> {
+          expect(response, endpoint);
+          session.accessToken = response.body().path("accessToken").asText();
+          return response;
+        });
+  }
+
+  private static CompletableFuture<UserServiceClient.Response> logout(UserServiceClient client, Session session) {
+    String endpoint = "POST /api/auth/logout";
+    return client.post(endpoint, "/api/auth/logout", Map.of("refreshToken", session.refreshToken),
+            session.accessToken, session)
+        .thenApply(response -> expect(response, endpoint));
+  }
+
+  private static UserServiceClient.Response expect(UserServiceClient.Response response, String endpoint) {
+    if (!response.ok()) {
+      throw new CompletionException(new SessionAbortedException(endpoint, response.status()));
+    }
+    return response;
+  }
+
+  private static UserServiceClient.Response tokens(Session session, UserServiceClient.Response response) {
+    session.userId = response.body().path("user").path("id").asLong();
+    session.accessToken = response.body().path("accessToken").asText();
+    session.refreshToken = response.body().path("refreshToken").asText();
+    return response;
+  }
+}
@@ -0,0 +1,36 @@
+package com.fitnessplatform.user_service.loadtest;
+
+// State of one simulated user's visit, threaded through the steps of a scenario
+final class Session {
+
+  private final boolean measured;
+  private long arrivalNanos;
+
+  String email;
+  String password;
+  Long userId;
+  String accessToken;
+  String refreshToken;
+  String etag;
+
+  Session(long arrivalNanos, boolean measured) {
+    this.arrivalNanos = arrivalNanos;
+    this.measured = measured;
+  }
+
+  boolean measured() {
+    return measured;
+  }
+
+  // The first request is timed from the scheduled arrival, so a service (or generator)
+  // that falls behind shows up as latency instead of silently lowering the rate
+  long takeIntendedStart() {
+    long now = System.nanoTime();
+    if (arrivalNanos != 0) {
+      long intended = arrivalNanos;
+      arrivalNanos = 0;
+      return Math.min(intended, now);
+    }
+    return now;
+  }
+}
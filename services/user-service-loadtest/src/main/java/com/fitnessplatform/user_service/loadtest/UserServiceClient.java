@@ -0,0 +1,106 @@
+package com.fitnessplatform.user_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Async calls to user-service. Each call records its latency from an intended start
+// time: the scheduled arrival for a session's first request, the send time otherwise.
+final class UserServiceClient {
+
+  record Response(int status, JsonNode body, String etag) {
+
+    boolean ok() {
+      return status >= 200 && status < 300;
+    }
+  }
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+
+  private final HttpClient http;
+  private final String baseUrl;
+  private final Duration timeout;
+  private final EndpointMetrics metrics;
+
+  UserServiceClient(String baseUrl, Duration timeout, EndpointMetrics metrics) {
+    this.http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(timeout)
+        .build();
+    this.baseUrl = baseUrl;
+    this.timeout = timeout;
+    this.metrics = metrics;
+  }
+
+  CompletableFuture<Response> post(String endpoint, String path, Object body, String token, Session session) {
+    HttpRequest.Builder request = request(path, token)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(json(body)));
+    return send(endpoint, request.build(), session);
+  }
+
+  CompletableFuture<Response> get(String endpoint, String path, String token, String ifNoneMatch, Session session) {
+    HttpRequest.Builder request = request(path, token).GET();
+    if (ifNoneMatch != null) {
+      request.header("If-None-Match", ifNoneMatch);
+    }
+    return send(endpoint, request.build(), session);
+  }
+
+  CompletableFuture<Response> mergePatch(String endpoint, String path, Map<String, Object> patch, String token,
+                                         String ifMatch, Session session) {
+    HttpRequest.Builder request = request(path, token)
+        .header("Content-Type", "application/merge-patch+json")
+        .method("PATCH", HttpRequest.BodyPublishers.ofString(json(patch)));
+    if (ifMatch != null) {
+      request.header("If-Match", ifMatch);
+    }
+    return send(endpoint, request.build(), session);
+  }
+
+  private HttpRequest.Builder request(String path, String token) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    return builder;
+  }
+
+  private CompletableFuture<Response> send(String endpoint, HttpRequest request, Session session) {
+    long intendedStart = session.takeIntendedStart();
+    return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        .handle((response, failure) -> {
+          int status = failure == null ? response.statusCode() : 0;
+          if (session.measured()) {
+            metrics.record(endpoint, System.nanoTime() - intendedStart, status);
+          }
+          if (failure != null) {
+            return new Response(0, null, null);
+          }
+          return new Response(status, parse(response.body()), response.headers().firstValue("ETag").orElse(null));
+        });
+  }
+
+  private static JsonNode parse(String body) {
+    try {
+      return body == null || body.isEmpty() ? null : JSON.readTree(body);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static String json(Object body) {
+    try {
+      return JSON.writeValueAsString(body);
+    } catch (Exception e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.fitnessplatform.user_service.admin;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+// Grants ROLE_ADMIN to requests carrying the configured admin API key
+// (the /api/admin/** endpoints and the user listing). Admin access is
+// disabled while admin.api-key is empty.
+@Component
+public class AdminApiKeyFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "X-Admin-Key";
+
+  @Value("${admin.api-key:}")
+  private String apiKey;
+
+  // Only the admin endpoints honour the key: elsewhere an "admin" principal is no user at all
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (request.getHeader(HEADER) == null) {
+      return true;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    boolean userListing = "GET".equals(request.getMethod()) && path.equals("/api/users");
+    return !userListing && !path.startsWith("/api/admin/");
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain chain) throws ServletException, IOException {
+    String presented = request.getHeader(HEADER);
+    if (!apiKey.isEmpty() && presented != null
+        && MessageDigest.isEqual(apiKey.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8))) {
+      UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+          "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+      SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+    chain.doFilter(request, response);
+  }
+}
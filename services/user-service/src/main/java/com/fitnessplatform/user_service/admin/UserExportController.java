@@ -0,0 +1,40 @@
+package com.fitnessplatform.user_service.admin;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class UserExportController {
+
+  @Autowired
+  private UserExportService userExportService;
+
+  // Full export of user profiles as NDJSON (default) or CSV
+  @GetMapping("/export")
+  public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                          HttpServletResponse response) throws IOException, SQLException {
+    UserExportService.Format exportFormat;
+    try {
+      exportFormat = UserExportService.Format.valueOf(format.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported format: " + format);
+      return;
+    }
+
+    boolean csv = exportFormat == UserExportService.Format.CSV;
+    response.setContentType(csv ? "text/csv" : UserImportController.NDJSON);
+    response.setCharacterEncoding("UTF-8");
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"");
+    userExportService.export(exportFormat, response.getOutputStream());
+  }
+}
@@ -0,0 +1,134 @@
+package com.fitnessplatform.user_service.admin;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+
+// Dumps every user profile straight from a server-side cursor to the response stream.
+// PostgreSQL only uses a cursor (instead of buffering the whole result) when autocommit
+// is off and a fetch size is set, so memory stays at one fetch batch regardless of table size.
+// Password hashes are never exported.
+@Service
+public class UserExportService {
+
+  public enum Format { NDJSON, CSV }
+
+  private static final String[] COLUMNS = {
+      "id", "username", "email", "date_of_birth", "height_cm", "current_weight_kg", "gender",
+      "activity_level", "fitness_goal", "target_weight_kg", "preferred_units", "timezone",
+      "is_verified", "is_active", "created_at", "updated_at"
+  };
+
+  private static final String[] FIELDS = {
+      "id", "username", "email", "dateOfBirth", "heightCm", "currentWeightKg", "gender",
+      "activityLevel", "fitnessGoal", "targetWeightKg", "preferredUnits", "timezone",
+      "isVerified", "isActive", "createdAt", "updatedAt"
+  };
+
+  private static final String SELECT_SQL =
+      "SELECT " + String.join(", ", COLUMNS) + " FROM users ORDER BY id";
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Value("${export.fetch-size:1000}")
+  private int fetchSize;
+
+  public void export(Format format, OutputStream out) throws IOException, SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      connection.setReadOnly(true);
+      try (PreparedStatement statement = connection.prepareStatement(
+          SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        statement.setFetchSize(fetchSize);
+        try (ResultSet rows = statement.executeQuery()) {
+          if (format == Format.CSV) {
+            writeCsv(rows, out);
+          } else {
+            writeNdjson(rows, out);
+          }
+        }
+      } finally {
+        connection.commit();
+      }
+    }
+  }
+
+  private void writeNdjson(ResultSet rows, OutputStream out) throws IOException, SQLException {
+    try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+      json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      while (rows.next()) {
+        json.writeStartObject();
+        for (int i = 0; i < COLUMNS.length; i++) {
+          Object value = rows.getObject(i + 1);
+          json.writeFieldName(FIELDS[i]);
+          if (value == null) {
+            json.writeNull();
+          } else if (value instanceof Number || value instanceof Boolean) {
+            json.writeObject(value);
+          } else {
+            json.writeString(text(value));
+          }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+      }
+    }
+  }
+
+  private void writeCsv(ResultSet rows, OutputStream out) throws IOException, SQLException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(String.join(",", FIELDS));
+    writer.write('\n');
+    while (rows.next()) {
+      for (int i = 0; i < COLUMNS.length; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        Object value = rows.getObject(i + 1);
+        if (value != null) {
+          writeCsvField(writer, text(value));
+        }
+      }
+      writer.write('\n');
+    }
+    writer.flush();
+  }
+
+  // RFC 4180: quote fields containing separators, quotes or line breaks
+  private void writeCsvField(Writer writer, String value) throws IOException {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+
+  // Dates and timestamps as ISO-8601, everything else via toString
+  private String text(Object value) {
+    if (value instanceof Timestamp timestamp) {
+      return timestamp.toLocalDateTime().toString();
+    }
+    if (value instanceof Date date) {
+      return date.toLocalDate().toString();
+    }
+    return value.toString();
+  }
+}
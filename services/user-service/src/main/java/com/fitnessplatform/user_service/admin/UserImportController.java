@@ -0,0 +1,29 @@
+package com.fitnessplatform.user_service.admin;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class UserImportController {
+
+  public static final String NDJSON = "application/x-ndjson";
+
+  @Autowired
+  private UserImportService userImportService;
+
+  // Bulk import: one user per NDJSON line in, one result per line out
+  @PostMapping(value = "/import", consumes = NDJSON, produces = NDJSON)
+  public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException, SQLException {
+    response.setContentType(NDJSON);
+    response.setCharacterEncoding("UTF-8");
+    userImportService.importUsers(request.getReader(), response.getOutputStream());
+  }
+}
@@ -0,0 +1,19 @@
+package com.fitnessplatform.user_service.admin;
+
+// One NDJSON line of a bulk import. Either password (plain, hashed on import)
+// or passwordHash (an existing BCrypt hash, stored as-is) must be present.
+public record UserImportRecord(
+    String username,
+    String email,
+    String password,
+    String passwordHash,
+    String dateOfBirth,
+    Integer heightCm,
+    Double currentWeightKg,
+    String gender,
+    String activityLevel,
+    String fitnessGoal,
+    Double targetWeightKg,
+    String preferredUnits,
+    String timezone) {
+}
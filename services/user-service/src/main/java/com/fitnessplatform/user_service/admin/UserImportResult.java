@@ -0,0 +1,16 @@
+package com.fitnessplatform.user_service.admin;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome of one imported line, streamed back as NDJSON
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResult(int line, String status, Long id, String reason) {
+
+  public static UserImportResult created(int line, long id) {
+    return new UserImportResult(line, "created", id, null);
+  }
+
+  public static UserImportResult rejected(int line, String reason) {
+    return new UserImportResult(line, "rejected", null, reason);
+  }
+}
@@ -0,0 +1,310 @@
+package com.fitnessplatform.user_service.admin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessplatform.user_service.auth.PasswordHasher;
+import com.fitnessplatform.user_service.auth.PasswordHashingRejectedException;
+import com.fitnessplatform.user_service.user.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+// Streams an NDJSON body of users into the users table. Lines are read and answered
+// batch by batch, so neither the request nor the response is ever held in memory.
+// Plain passwords are hashed on the shared password-hashing pool, a few at a time so an
+// import never crowds out logins; rows are written with one JDBC batch of
+// INSERT ... ON CONFLICT DO NOTHING per batch, which reports duplicates per row.
+@Service
+public class UserImportService {
+
+  private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+  private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+
+  private static final String INSERT_SQL =
+      "INSERT INTO users (username, email, password, date_of_birth, height_cm, current_weight_kg, "
+          + "gender, activity_level, fitness_goal, target_weight_kg, preferred_units, timezone, "
+          + "is_verified, is_active, token_epoch, created_at, updated_at) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, true, 0, now(), now()) "
+          + "ON CONFLICT ((lower(email))) DO NOTHING";
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private PasswordHasher passwordHasher;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Value("${bulk-import.batch-size:1000}")
+  private int batchSize;
+
+  // Hashes one import keeps in flight on the password-hashing pool
+  @Value("${bulk-import.hash-concurrency:2}")
+  private int hashConcurrency;
+
+  // Wait before retrying a hash the saturated pool rejected
+  @Value("${bulk-import.hash-backoff-ms:100}")
+  private long hashBackoffMs;
+
+  private ForkJoinPool hashPool;
+
+  @PostConstruct
+  void start() {
+    hashPool = new ForkJoinPool(Math.max(1, hashConcurrency));
+  }
+
+  @PreDestroy
+  void stop() {
+    hashPool.shutdown();
+  }
+
+  // Import every line from the reader, writing one result line per input line and a final summary
+  public void importUsers(BufferedReader reader, OutputStream out) throws IOException, SQLException {
+    int created = 0;
+    int rejected = 0;
+    List<Row> batch = new ArrayList<>(batchSize);
+
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      int lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        try {
+          batch.add(parse(lineNumber, line));
+        } catch (IllegalArgumentException e) {
+          writeLine(out, UserImportResult.rejected(lineNumber, e.getMessage()));
+          rejected++;
+          continue;
+        }
+        if (batch.size() >= batchSize) {
+          int inserted = flush(connection, batch, out);
+          created += inserted;
+          rejected += batch.size() - inserted;
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        int inserted = flush(connection, batch, out);
+        created += inserted;
+        rejected += batch.size() - inserted;
+      }
+    }
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("status", "summary");
+    summary.put("created", created);
+    summary.put("rejected", rejected);
+    writeLine(out, summary);
+    out.flush();
+  }
+
+  // Hash, insert and report one batch; returns the number of rows created
+  private int flush(Connection connection, List<Row> batch, OutputStream out) throws IOException, SQLException {
+    hashPasswords(batch);
+
+    try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+      for (Row row : batch) {
+        bind(statement, row);
+        statement.addBatch();
+      }
+      int[] counts = statement.executeBatch();
+      try (ResultSet keys = statement.getGeneratedKeys()) {
+        for (int i = 0; i < batch.size(); i++) {
+          if (counts[i] > 0 && keys.next()) {
+            batch.get(i).id = keys.getLong(1);
+          }
+        }
+      }
+      connection.commit();
+    } catch (SQLException e) {
+      connection.rollback();
+      for (Row row : batch) {
+        row.id = null;
+        row.failure = "Database error: " + e.getMessage();
+      }
+    }
+
+    int created = 0;
+    for (Row row : batch) {
+      if (row.id != null) {
+        writeLine(out, UserImportResult.created(row.line, row.id));
+        created++;
+      } else {
+        writeLine(out, UserImportResult.rejected(row.line, row.failure != null ? row.failure : "Email already exists"));
+      }
+    }
+    out.flush();
+    return created;
+  }
+
+  private void hashPasswords(List<Row> batch) {
+    try {
+      hashPool.submit(() -> batch.parallelStream()
+          .filter(row -> row.passwordHash == null)
+          .forEach(row -> {
+            row.passwordHash = encode(row.plainPassword);
+            row.plainPassword = null;
+          })).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Import interrupted");
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Password hashing failed", e.getCause());
+    }
+  }
+
+  // Logins get the 503 when the hashing pool is full; the import just waits its turn
+  private String encode(String plainPassword) {
+    while (true) {
+      try {
+        return passwordHasher.encode(plainPassword);
+      } catch (PasswordHashingRejectedException e) {
+        try {
+          Thread.sleep(hashBackoffMs);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Import interrupted");
+        }
+      }
+    }
+  }
+
+  private void bind(PreparedStatement statement, Row row) throws SQLException {
+    statement.setString(1, row.username);
+    statement.setString(2, row.email);
+    statement.setString(3, row.passwordHash);
+    statement.setObject(4, row.dateOfBirth, Types.DATE);
+    statement.setObject(5, row.heightCm, Types.INTEGER);
+    statement.setObject(6, row.currentWeightKg, Types.DOUBLE);
+    statement.setString(7, row.gender != null ? row.gender.name() : null);
+    statement.setString(8, row.activityLevel != null ? row.activityLevel.name() : null);
+    statement.setString(9, row.fitnessGoal != null ? row.fitnessGoal.name() : null);
+    statement.setObject(10, row.targetWeightKg, Types.DOUBLE);
+    statement.setString(11, row.preferredUnits);
+    statement.setString(12, row.timezone);
+  }
+
+  // Validate a line against the same limits as the User entity
+  private Row parse(int lineNumber, String line) {
+    UserImportRecord record;
+    try {
+      record = objectMapper.readValue(line, UserImportRecord.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed JSON");
+    }
+
+    Row row = new Row(lineNumber);
+    row.username = required(record.username(), "username", 2, 100);
+    row.email = required(record.email(), "email", 3, 150);
+    if (!EMAIL.matcher(row.email).matches()) {
+      throw new IllegalArgumentException("Email must be valid");
+    }
+    if (record.passwordHash() != null) {
+      if (!BCRYPT_HASH.matcher(record.passwordHash()).matches()) {
+        throw new IllegalArgumentException("passwordHash must be a BCrypt hash");
+      }
+      row.passwordHash = record.passwordHash();
+    } else if (record.password() != null && !record.password().isEmpty()) {
+      row.plainPassword = record.password();
+    } else {
+      throw new IllegalArgumentException("password or passwordHash is required");
+    }
+
+    if (record.dateOfBirth() != null && !record.dateOfBirth().isBlank()) {
+      try {
+        row.dateOfBirth = LocalDate.parse(record.dateOfBirth());
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid date format. Please use YYYY-MM-DD");
+      }
+    }
+    row.heightCm = record.heightCm();
+    row.currentWeightKg = record.currentWeightKg();
+    row.targetWeightKg = record.targetWeightKg();
+    row.gender = parseEnum(User.Gender.class, record.gender(), "gender");
+    row.activityLevel = parseEnum(User.ActivityLevel.class, record.activityLevel(), "activity level");
+    row.fitnessGoal = parseEnum(User.FitnessGoal.class, record.fitnessGoal(), "fitness goal");
+    row.preferredUnits = record.preferredUnits() != null ? limit(record.preferredUnits(), "preferredUnits", 10) : "METRIC";
+    row.timezone = record.timezone() != null ? limit(record.timezone(), "timezone", 50) : null;
+    return row;
+  }
+
+  private String required(String value, String field, int min, int max) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException(field + " is required");
+    }
+    String trimmed = value.trim();
+    if (trimmed.length() < min || trimmed.length() > max) {
+      throw new IllegalArgumentException(field + " must be between " + min + " and " + max + " characters");
+    }
+    return trimmed;
+  }
+
+  private String limit(String value, String field, int max) {
+    if (value.length() > max) {
+      throw new IllegalArgumentException(field + " must not exceed " + max + " characters");
+    }
+    return value;
+  }
+
+  private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Enum.valueOf(type, value.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid " + label + " value: " + value);
+    }
+  }
+
+  private void writeLine(OutputStream out, Object value) throws IOException {
+    out.write(objectMapper.writeValueAsBytes(value));
+    out.write('\n');
+  }
+
+  // Mutable working state for one line while its batch is processed
+  private static final class Row {
+    final int line;
+    String username;
+    String email;
+    String plainPassword;
+    String passwordHash;
+    LocalDate dateOfBirth;
+    Integer heightCm;
+    Double currentWeightKg;
+    User.Gender gender;
+    User.ActivityLevel activityLevel;
+    User.FitnessGoal fitnessGoal;
+    Double targetWeightKg;
+    String preferredUnits;
+    String timezone;
+    Long id;
+    String failure;
+
+    Row(int line) {
+      this.line = line;
+    }
+  }
+}
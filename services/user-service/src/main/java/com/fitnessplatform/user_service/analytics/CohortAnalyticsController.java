@@ -0,0 +1,54 @@
+package com.fitnessplatform.user_service.analytics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class CohortAnalyticsController {
+
+  @Autowired
+  private CohortAnalyticsService cohortAnalyticsService;
+
+  // Distribution of a metric (bmi, weight_gap) per cohort (gender, activity_level,
+  // fitness_goal, age_band), from the latest in-memory snapshot
+  @GetMapping("/cohorts")
+  public ResponseEntity<?> cohorts(@RequestParam(defaultValue = "gender") String groupBy,
+                                   @RequestParam(defaultValue = "bmi") String metric,
+                                   @RequestParam(required = false) Double min,
+                                   @RequestParam(required = false) Double max,
+                                   @RequestParam(defaultValue = "20") int bins) {
+    try {
+      CohortQuery.Dimension dimension = parse(CohortQuery.Dimension.class, groupBy, "groupBy");
+      CohortQuery.Metric measured = parse(CohortQuery.Metric.class, metric, "metric");
+      CohortQuery query = new CohortQuery(dimension, measured,
+          min != null ? min : measured.defaultMin(),
+          max != null ? max : measured.defaultMax(),
+          bins);
+      return ResponseEntity.ok(cohortAnalyticsService.query(query));
+
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    } catch (SnapshotUnavailableException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "30")
+          .body(Map.of("error", e.getMessage()));
+    }
+  }
+
+  private static <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+    try {
+      return Enum.valueOf(type, value.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported " + name + ": " + value);
+    }
+  }
+}
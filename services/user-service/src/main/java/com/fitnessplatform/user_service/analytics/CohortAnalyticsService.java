@@ -0,0 +1,173 @@
+package com.fitnessplatform.user_service.analytics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Cohort analytics (BMI and weight-gap distributions by gender, activity level,
+// fitness goal or age band) answered from a periodically rebuilt columnar snapshot
+// instead of loading User entities. The snapshot is first built by the first query, so
+// instances that never serve analytics never read the users table for it. Queries are
+// parallel scans on a dedicated fork-join pool so they never compete with parallel
+// streams on the common pool.
+@Service
+public class CohortAnalyticsService {
+
+  private static final Logger log = LoggerFactory.getLogger(CohortAnalyticsService.class);
+
+  // Active users only; enums are stored as their names, mapped to ordinals while loading
+  private static final String SNAPSHOT_SQL = "SELECT height_cm, current_weight_kg, target_weight_kg,"
+      + " date_of_birth, gender, activity_level, fitness_goal FROM users WHERE is_active = true";
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Value("${analytics.fetch-size:5000}")
+  private int fetchSize;
+
+  @Value("${analytics.parallelism:0}") // 0 = one per available core
+  private int parallelism;
+
+  private volatile ProfileColumns snapshot = ProfileColumns.empty();
+
+  // Set once a snapshot has been loaded (or supplied); until then refresh() does nothing
+  private volatile boolean loaded;
+
+  // A lock rather than synchronized, so virtual threads waiting on the first load
+  // do not pin their carriers while it reads the table
+  private final ReentrantLock loadLock = new ReentrantLock();
+
+  private ForkJoinPool pool;
+
+  @PostConstruct
+  void init() {
+    pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  public CohortReport query(CohortQuery query) {
+    if (!loaded) {
+      loadFirstSnapshot();
+    }
+    ProfileColumns columns = snapshot;
+    CohortScan.Partial totals = pool.invoke(
+        new CohortScan(columns, query, LocalDate.now().getYear(), 0, columns.size));
+    return report(columns, query, totals);
+  }
+
+  // Rebuild the snapshot by streaming the users table through a server-side cursor,
+  // once the first query has asked for one
+  @Scheduled(fixedDelayString = "${analytics.refresh-ms:300000}")
+  public void refresh() {
+    if (loaded) {
+      rebuild();
+    }
+  }
+
+  // Concurrent first queries wait for one load instead of each scanning the table. A failed
+  // load leaves the service unloaded, so the next query tries again.
+  private void loadFirstSnapshot() {
+    loadLock.lock();
+    try {
+      if (!loaded && rebuild()) {
+        loaded = true;
+      }
+    } finally {
+      loadLock.unlock();
+    }
+    if (!loaded) {
+      throw new SnapshotUnavailableException();
+    }
+  }
+
+  private boolean rebuild() {
+    try {
+      long started = System.nanoTime();
+      ProfileColumns next = load();
+      snapshot = next;
+      log.info("Analytics snapshot rebuilt: {} users in {} ms",
+          next.size, (System.nanoTime() - started) / 1_000_000);
+      return true;
+    } catch (Exception e) {
+      log.warn("Analytics snapshot refresh failed, keeping previous snapshot: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  // Visible for tests: query a snapshot built elsewhere
+  void replaceSnapshot(ProfileColumns columns) {
+    snapshot = columns;
+    loaded = true;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pool.shutdownNow();
+  }
+
+  private ProfileColumns load() throws SQLException {
+    ProfileColumns.Builder builder = new ProfileColumns.Builder(snapshot.size);
+    Instant takenAt = Instant.now();
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false); // PostgreSQL only streams with autocommit off
+      connection.setReadOnly(true);
+      try (PreparedStatement statement = connection.prepareStatement(
+          SNAPSHOT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        statement.setFetchSize(fetchSize);
+        try (ResultSet rows = statement.executeQuery()) {
+          while (rows.next()) {
+            int height = rows.getInt(1);
+            double weight = rows.getDouble(2);
+            float currentWeight = rows.wasNull() ? Float.NaN : (float) weight;
+            double target = rows.getDouble(3);
+            float targetWeight = rows.wasNull() ? Float.NaN : (float) target;
+            Date dateOfBirth = rows.getDate(4);
+            int birthYear = dateOfBirth != null ? dateOfBirth.toLocalDate().getYear() : 0;
+            builder.add(height, currentWeight, targetWeight, birthYear,
+                ordinal(rows.getString(5), CohortQuery.Dimension.GENDER),
+                ordinal(rows.getString(6), CohortQuery.Dimension.ACTIVITY_LEVEL),
+                ordinal(rows.getString(7), CohortQuery.Dimension.FITNESS_GOAL));
+          }
+        }
+      } finally {
+        connection.commit();
+      }
+    }
+    return builder.build(takenAt);
+  }
+
+  private static int ordinal(String name, CohortQuery.Dimension dimension) {
+    if (name == null) return ProfileColumns.NO_ENUM;
+    for (int i = 0; i < dimension.cohorts() - 1; i++) {
+      if (dimension.label(i).equals(name)) return i;
+    }
+    return ProfileColumns.NO_ENUM;
+  }
+
+  private CohortReport report(ProfileColumns columns, CohortQuery query, CohortScan.Partial totals) {
+    int bins = query.bins();
+    List<CohortReport.Cohort> cohorts = new ArrayList<>();
+    for (int c = 0; c < query.groupBy().cohorts(); c++) {
+      long count = totals.count[c];
+      if (count == 0) continue;
+      cohorts.add(new CohortReport.Cohort(query.groupBy().label(c), count, totals.sum[c] / count,
+          totals.min[c], totals.max[c], Arrays.copyOfRange(totals.histogram, c * bins, (c + 1) * bins)));
+    }
+    return new CohortReport(query.groupBy(), query.metric(), columns.size, columns.takenAt,
+        query.min(), (query.max() - query.min()) / bins, cohorts);
+  }
+}
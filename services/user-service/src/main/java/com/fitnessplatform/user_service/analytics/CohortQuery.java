@@ -0,0 +1,66 @@
+package com.fitnessplatform.user_service.analytics;
+
+import com.fitnessplatform.user_service.user.User;
+
+import java.util.Arrays;
+
+// A group-by + histogram query: which column splits users into cohorts, which metric
+// is aggregated, and the histogram range. Values outside [min, max) fall into the edge bins.
+public record CohortQuery(Dimension groupBy, Metric metric, double min, double max, int bins) {
+
+  public enum Dimension {
+    GENDER(names(User.Gender.values())),
+    ACTIVITY_LEVEL(names(User.ActivityLevel.values())),
+    FITNESS_GOAL(names(User.FitnessGoal.values())),
+    AGE_BAND(new String[] {"UNDER_18", "18_24", "25_34", "35_44", "45_54", "55_64", "65_PLUS"});
+
+    // Cohort labels; one extra "UNKNOWN" cohort collects rows with no value
+    private final String[] labels;
+
+    Dimension(String[] labels) {
+      this.labels = labels;
+    }
+
+    public int cohorts() {
+      return labels.length + 1;
+    }
+
+    public String label(int cohort) {
+      return cohort < labels.length ? labels[cohort] : "UNKNOWN";
+    }
+  }
+
+  public enum Metric {
+    BMI(10, 50),
+    WEIGHT_GAP(-50, 50); // current minus target weight, kg
+
+    private final double defaultMin;
+    private final double defaultMax;
+
+    Metric(double defaultMin, double defaultMax) {
+      this.defaultMin = defaultMin;
+      this.defaultMax = defaultMax;
+    }
+
+    public double defaultMin() {
+      return defaultMin;
+    }
+
+    public double defaultMax() {
+      return defaultMax;
+    }
+  }
+
+  public CohortQuery {
+    if (bins < 1 || bins > 1000) {
+      throw new IllegalArgumentException("bins must be between 1 and 1000");
+    }
+    if (!(max > min)) {
+      throw new IllegalArgumentException("max must be greater than min");
+    }
+  }
+
+  private static String[] names(Enum<?>[] values) {
+    return Arrays.stream(values).map(Enum::name).toArray(String[]::new);
+  }
+}
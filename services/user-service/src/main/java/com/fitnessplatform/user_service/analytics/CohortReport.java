@@ -0,0 +1,18 @@
+package com.fitnessplatform.user_service.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CohortReport(
+    CohortQuery.Dimension groupBy,
+    CohortQuery.Metric metric,
+    int population,
+    Instant snapshotTakenAt,
+    double histogramMin,
+    double binWidth,
+    List<Cohort> cohorts) {
+
+  // Cohorts with no measurable users are omitted; mean/min/max are over users with the metric
+  public record Cohort(String key, long count, double mean, double min, double max, long[] histogram) {
+  }
+}
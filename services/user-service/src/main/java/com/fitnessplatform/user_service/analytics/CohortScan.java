@@ -0,0 +1,142 @@
+package com.fitnessplatform.user_service.analytics;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+// Fork-join scan over a row range of the columnar snapshot. Each leaf walks its slice of
+// the primitive arrays once, accumulating per-cohort count/sum/min/max and histogram
+// counts into flat arrays; partial results are merged on the way back up.
+final class CohortScan extends RecursiveTask<CohortScan.Partial> {
+
+  // Rows per leaf: large enough to amortize task overhead, small enough to balance cores
+  static final int LEAF_ROWS = 1 << 16;
+
+  private final ProfileColumns columns;
+  private final CohortQuery query;
+  private final int currentYear;
+  private final int from;
+  private final int to;
+
+  CohortScan(ProfileColumns columns, CohortQuery query, int currentYear, int from, int to) {
+    this.columns = columns;
+    this.query = query;
+    this.currentYear = currentYear;
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  protected Partial compute() {
+    if (to - from <= LEAF_ROWS) {
+      return scan();
+    }
+    int mid = (from + to) >>> 1;
+    CohortScan left = new CohortScan(columns, query, currentYear, from, mid);
+    left.fork();
+    Partial right = new CohortScan(columns, query, currentYear, mid, to).compute();
+    return left.join().merge(right);
+  }
+
+  private Partial scan() {
+    int cohorts = query.groupBy().cohorts();
+    int bins = query.bins();
+    Partial partial = new Partial(cohorts, bins);
+    double min = query.min();
+    double binsPerUnit = bins / (query.max() - query.min());
+
+    for (int row = from; row < to; row++) {
+      double value = metric(row);
+      if (Double.isNaN(value)) {
+        continue; // Metric not computable for this user
+      }
+      int cohort = cohort(row, cohorts);
+      int bin = (int) ((value - min) * binsPerUnit);
+      bin = bin < 0 ? 0 : Math.min(bin, bins - 1);
+
+      partial.count[cohort]++;
+      partial.sum[cohort] += value;
+      if (value < partial.min[cohort]) partial.min[cohort] = value;
+      if (value > partial.max[cohort]) partial.max[cohort] = value;
+      partial.histogram[cohort * bins + bin]++;
+    }
+    return partial;
+  }
+
+  private double metric(int row) {
+    float weight = columns.currentWeightKg[row];
+    switch (query.metric()) {
+      case BMI: {
+        int height = columns.heightCm[row];
+        if (height <= 0) return Double.NaN;
+        double heightM = height / 100.0;
+        return weight / (heightM * heightM); // NaN weight stays NaN
+      }
+      case WEIGHT_GAP:
+        return weight - columns.targetWeightKg[row];
+      default:
+        throw new IllegalStateException("Unknown metric " + query.metric());
+    }
+  }
+
+  private int cohort(int row, int cohorts) {
+    int unknown = cohorts - 1;
+    switch (query.groupBy()) {
+      case GENDER:
+        return ordinalOrUnknown(columns.gender[row], unknown);
+      case ACTIVITY_LEVEL:
+        return ordinalOrUnknown(columns.activityLevel[row], unknown);
+      case FITNESS_GOAL:
+        return ordinalOrUnknown(columns.fitnessGoal[row], unknown);
+      case AGE_BAND:
+        return ageBand(columns.birthYear[row], unknown);
+      default:
+        throw new IllegalStateException("Unknown dimension " + query.groupBy());
+    }
+  }
+
+  private static int ordinalOrUnknown(byte ordinal, int unknown) {
+    return ordinal == ProfileColumns.NO_ENUM ? unknown : ordinal;
+  }
+
+  // Same age rule as User.getAge(): current year minus birth year
+  private int ageBand(short birthYear, int unknown) {
+    if (birthYear == 0) return unknown;
+    int age = currentYear - birthYear;
+    if (age < 18) return 0;
+    if (age >= 65) return 6;
+    return 1 + Math.min((age - 15) / 10, 4); // 18-24, 25-34, ..., 55-64
+  }
+
+  // Per-cohort accumulators; histogram is cohort-major (cohort * bins + bin)
+  static final class Partial {
+
+    final long[] count;
+    final double[] sum;
+    final double[] min;
+    final double[] max;
+    final long[] histogram;
+
+    Partial(int cohorts, int bins) {
+      count = new long[cohorts];
+      sum = new double[cohorts];
+      min = new double[cohorts];
+      max = new double[cohorts];
+      histogram = new long[cohorts * bins];
+      Arrays.fill(min, Double.POSITIVE_INFINITY);
+      Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    }
+
+    Partial merge(Partial other) {
+      for (int c = 0; c < count.length; c++) {
+        count[c] += other.count[c];
+        sum[c] += other.sum[c];
+        min[c] = Math.min(min[c], other.min[c]);
+        max[c] = Math.max(max[c], other.max[c]);
+      }
+      for (int i = 0; i < histogram.length; i++) {
+        histogram[i] += other.histogram[i];
+      }
+      return this;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.fitnessplatform.user_service.analytics;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+// Immutable column-oriented copy of the profile fields analytics needs, one primitive
+// array per field, so a scan touches a few contiguous arrays instead of millions of
+// entities. Missing values: 0 for height and birth year, NaN for weights, -1 for enums.
+final class ProfileColumns {
+
+  static final byte NO_ENUM = -1;
+
+  final int size;
+  final short[] heightCm;
+  final float[] currentWeightKg;
+  final float[] targetWeightKg;
+  final short[] birthYear;
+  final byte[] gender;
+  final byte[] activityLevel;
+  final byte[] fitnessGoal;
+  final Instant takenAt;
+
+  private ProfileColumns(Builder builder, Instant takenAt) {
+    this.size = builder.size;
+    this.heightCm = Arrays.copyOf(builder.heightCm, size);
+    this.currentWeightKg = Arrays.copyOf(builder.currentWeightKg, size);
+    this.targetWeightKg = Arrays.copyOf(builder.targetWeightKg, size);
+    this.birthYear = Arrays.copyOf(builder.birthYear, size);
+    this.gender = Arrays.copyOf(builder.gender, size);
+    this.activityLevel = Arrays.copyOf(builder.activityLevel, size);
+    this.fitnessGoal = Arrays.copyOf(builder.fitnessGoal, size);
+    this.takenAt = takenAt;
+  }
+
+  static ProfileColumns empty() {
+    return new Builder(0).build(Instant.EPOCH);
+  }
+
+  // Growable column set, filled row by row while streaming the users table
+  static final class Builder {
+
+    private int size;
+    private short[] heightCm;
+    private float[] currentWeightKg;
+    private float[] targetWeightKg;
+    private short[] birthYear;
+    private byte[] gender;
+    private byte[] activityLevel;
+    private byte[] fitnessGoal;
+
+    Builder(int expectedRows) {
+      allocate(Math.max(expectedRows, 16));
+    }
+
+    void add(int heightCm, float currentWeightKg, float targetWeightKg, int birthYear,
+             int gender, int activityLevel, int fitnessGoal) {
+      if (size == this.heightCm.length) {
+        allocate(size * 2);
+      }
+      this.heightCm[size] = (short) heightCm;
+      this.currentWeightKg[size] = currentWeightKg;
+      this.targetWeightKg[size] = targetWeightKg;
+      this.birthYear[size] = (short) birthYear;
+      this.gender[size] = (byte) gender;
+      this.activityLevel[size] = (byte) activityLevel;
+      this.fitnessGoal[size] = (byte) fitnessGoal;
+      size++;
+    }
+
+    ProfileColumns build(Instant takenAt) {
+      return new ProfileColumns(this, takenAt);
+    }
+
+    private void allocate(int capacity) {
+      heightCm = heightCm == null ? new short[capacity] : Arrays.copyOf(heightCm, capacity);
+      currentWeightKg = currentWeightKg == null ? new float[capacity] : Arrays.copyOf(currentWeightKg, capacity);
+      targetWeightKg = targetWeightKg == null ? new float[capacity] : Arrays.copyOf(targetWeightKg, capacity);
+      birthYear = birthYear == null ? new short[capacity] : Arrays.copyOf(birthYear, capacity);
+      gender = gender == null ? new byte[capacity] : Arrays.copyOf(gender, capacity);
+      activityLevel = activityLevel == null ? new byte[capacity] : Arrays.copyOf(activityLevel, capacity);
+      fitnessGoal = fitnessGoal == null ? new byte[capacity] : Arrays.copyOf(fitnessGoal, capacity);
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.fitnessplatform.user_service.analytics;
+
+// Thrown when no analytics snapshot has been loaded yet and loading one just failed
+public class SnapshotUnavailableException extends RuntimeException {
+
+  public SnapshotUnavailableException() {
+    super("Analytics snapshot is not available yet, please retry later");
+  }
+}
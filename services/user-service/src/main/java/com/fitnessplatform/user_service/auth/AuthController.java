@@ -1,13 +1,17 @@
 package com.fitnessplatform.user_service.auth;
 
 import com.fitnessplatform.user_service.jwt.JwtUtil;
+import com.fitnessplatform.user_service.jwt.TokenEpochTable;
+import com.fitnessplatform.user_service.jwt.VerifiedToken;
+import com.fitnessplatform.user_service.revocation.TokenRevocationService;
 import com.fitnessplatform.user_service.user.User;
+import io.jsonwebtoken.JwtException;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
-import java.util.HashMap;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -20,24 +24,28 @@ public class AuthController {
   @Autowired
   private JwtUtil jwtUtil;
 
+  @Autowired
+  private TokenRevocationService tokenRevocationService;
+
+  @Autowired
+  private TokenEpochTable tokenEpochTable;
+
   // Basic registration (for backward compatibility)
   @PostMapping("/register")
-  public ResponseEntity<?> register(@RequestBody Map<String, Object> request) {
+  public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
     try {
-      String username = (String) request.get("username");
-      String email = (String) request.get("email");
-      String password = (String) request.get("password");
-      String dateOfBirth = (String) request.get("dateOfBirth");
-
-      User user = authService.registerUser(username, email, password, dateOfBirth);
+      User user = authService.registerUser(
+          request.username(), request.email(), request.password(), request.dateOfBirth());
 
       // Generate JWT tokens
       String accessToken = jwtUtil.generateToken(user);
 
       String refreshToken = jwtUtil.generateRefreshToken(user);
 
-      return ResponseEntity.ok(createAuthResponse("User registered successfully", user, accessToken, refreshToken));
+      return ResponseEntity.ok(AuthResponse.of("User registered successfully", user, accessToken, refreshToken));
 
+    } catch (PasswordHashingRejectedException e) {
+      throw e; // Answered with 503 by ServiceBusyHandler
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
@@ -45,56 +53,41 @@ public class AuthController {
 
   // Enhanced registration with full profile
   @PostMapping("/register/full")
-  public ResponseEntity<?> registerWithFullProfile(@RequestBody Map<String, Object> request) {
+  public ResponseEntity<?> registerWithFullProfile(@Valid @RequestBody FullRegisterRequest request) {
     try {
-      String username = (String) request.get("username");
-      String email = (String) request.get("email");
-      String password = (String) request.get("password");
-      String dateOfBirth = (String) request.get("dateOfBirth");
-
-      // Physical profile
-      Integer heightCm = parseInteger(request.get("heightCm"));
-      Double currentWeightKg = parseDouble(request.get("currentWeightKg"));
-      String gender = (String) request.get("gender");
-
-      // Fitness profile
-      String activityLevel = (String) request.get("activityLevel");
-      String fitnessGoal = (String) request.get("fitnessGoal");
-      Double targetWeightKg = parseDouble(request.get("targetWeightKg"));
-
-      // Preferences
-      String preferredUnits = (String) request.get("preferredUnits");
-
       User user = authService.registerUserWithProfile(
-          username, email, password, dateOfBirth, heightCm, currentWeightKg,
-          gender, activityLevel, fitnessGoal, targetWeightKg, preferredUnits
+          request.username(), request.email(), request.password(), request.dateOfBirth(),
+          request.heightCm(), request.currentWeightKg(), request.gender(),
+          request.activityLevel(), request.fitnessGoal(), request.targetWeightKg(),
+          request.preferredUnits()
       );
 
       // Generate JWT tokens
       String accessToken = jwtUtil.generateToken(user);
       String refreshToken = jwtUtil.generateRefreshToken(user);
 
-      return ResponseEntity.ok(createAuthResponse("User registered successfully", user, accessToken, refreshToken));
+      return ResponseEntity.ok(AuthResponse.of("User registered successfully", user, accessToken, refreshToken));
 
+    } catch (PasswordHashingRejectedException e) {
+      throw e; // Answered with 503 by ServiceBusyHandler
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
   }
 
   @PostMapping("/login")
-  public ResponseEntity<?> login(@RequestBody Map<String, String> request) {
+  public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
     try {
-      String email = request.get("email");
-      String password = request.get("password");
-
-      User user = authService.loginUser(email, password);
+      User user = authService.loginUser(request.email(), request.password());
 
       // Generate JWT tokens
       String accessToken = jwtUtil.generateToken(user);
       String refreshToken = jwtUtil.generateRefreshToken(user);
 
-      return ResponseEntity.ok(createAuthResponse("Login successful", user, accessToken, refreshToken));
+      return ResponseEntity.ok(AuthResponse.of("Login successful", user, accessToken, refreshToken));
 
+    } catch (PasswordHashingRejectedException e) {
+      throw e; // Answered with 503 by ServiceBusyHandler
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
@@ -102,43 +95,50 @@ public class AuthController {
 
   // Refresh access token using refresh token
   @PostMapping("/refresh")
-  public ResponseEntity<?> refreshToken(@RequestBody Map<String, String> request) {
+  public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
     try {
-      String refreshToken = request.get("refreshToken");
-
-      if (refreshToken == null || refreshToken.trim().isEmpty()) {
-        return ResponseEntity.badRequest().body(Map.of("error", "Refresh token is required"));
-      }
+      String refreshToken = request.refreshToken();
 
       // Validate refresh token
-      if (!jwtUtil.validateToken(refreshToken) || !jwtUtil.isRefreshToken(refreshToken)) {
+      VerifiedToken verified;
+      try {
+        verified = jwtUtil.verify(refreshToken);
+      } catch (JwtException e) {
+        verified = null;
+      }
+      if (verified == null || !verified.isRefreshToken() || tokenRevocationService.isRevoked(verified.tokenId())) {
         return ResponseEntity.badRequest().body(Map.of("error", "Invalid or expired refresh token"));
       }
 
       // Extract user info from refresh token
-      String email = jwtUtil.extractUsername(refreshToken);
-      User user = authService.getUserByEmail(email);
+      User user = authService.getUserByEmail(verified.email());
+
+      // Refresh tokens from before a password change or deactivation must not mint new access tokens
+      if (!isCurrent(verified, user)) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Invalid or expired refresh token"));
+      }
 
       // Generate new access token
       String newAccessToken = jwtUtil.generateToken(user);
 
-      return ResponseEntity.ok(Map.of(
-          "message", "Token refreshed successfully",
-          "accessToken", newAccessToken,
-          "tokenType", "Bearer",
-          "expiresIn", 86400 // 24 hours in seconds
-      ));
+      return ResponseEntity.ok(new TokenRefreshResponse(
+          "Token refreshed successfully", newAccessToken, "Bearer", 86400)); // 24 hours in seconds
 
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
   }
-  // Logout (optional - for token blacklisting in future)
+  // Logout: revoke the access token and, if supplied, the refresh token
   @PostMapping("/logout")
-  public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader) {
+  public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader,
+                                  @RequestBody(required = false) RefreshTokenRequest request) {
     try {
-      // For now, just return success
-      // In production, you might want to blacklist the token
+      if (authHeader.startsWith("Bearer ")) {
+        revokeQuietly(authHeader.substring(7));
+      }
+      if (request != null && request.refreshToken() != null) {
+        revokeQuietly(request.refreshToken());
+      }
       return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
 
     } catch (Exception e) {
@@ -156,23 +156,26 @@ public class AuthController {
 
       String token = authHeader.substring(7);
 
-      if (jwtUtil.validateToken(token)) {
-        Long userId = jwtUtil.extractUserId(token);
-        String email = jwtUtil.extractUsername(token);
-
-        return ResponseEntity.ok(Map.of(
-            "message", "Token is valid",
-            "userId", userId,
-            "email", email,
-            "valid", true
-        ));
-      } else {
+      VerifiedToken verified;
+      try {
+        verified = jwtUtil.verify(token);
+      } catch (JwtException e) {
+        verified = null;
+      }
+      if (verified == null || tokenRevocationService.isRevoked(verified.tokenId())) {
         return ResponseEntity.badRequest().body(Map.of(
             "error", "Token is invalid or expired",
             "valid", false
         ));
       }
 
+      return ResponseEntity.ok(Map.of(
+          "message", "Token is valid",
+          "userId", verified.userId(),
+          "email", verified.email(),
+          "valid", true
+      ));
+
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of(
           "error", "Token validation failed: " + e.getMessage(),
@@ -181,86 +184,21 @@ public class AuthController {
     }
   }
 
-  // Helper method to create consistent auth response with tokens
-  private Map<String, Object> createAuthResponse(String message, User user, String accessToken, String refreshToken) {
-    Map<String, Object> response = new HashMap<>();
-    response.put("message", message);
-
-    // User information
-    Map<String, Object> userMap = new HashMap<>();
-    userMap.put("id", user.getId());
-    userMap.put("username", user.getUsername());
-    userMap.put("email", user.getEmail());
-    userMap.put("dateOfBirth", user.getDateOfBirth() != null ? user.getDateOfBirth().toString() : null);
-    userMap.put("heightCm", user.getHeightCm());
-    userMap.put("currentWeightKg", user.getCurrentWeightKg());
-    userMap.put("gender", user.getGender() != null ? user.getGender().toString() : null);
-    userMap.put("activityLevel", user.getActivityLevel() != null ? user.getActivityLevel().toString() : null);
-    userMap.put("fitnessGoal", user.getFitnessGoal() != null ? user.getFitnessGoal().toString() : null);
-    userMap.put("targetWeightKg", user.getTargetWeightKg());
-    userMap.put("preferredUnits", user.getPreferredUnits());
-    userMap.put("timezone", user.getTimezone());
-    userMap.put("age", user.getAge());
-    userMap.put("bmi", user.getBMI());
-    userMap.put("createdAt", user.getCreatedAt());
-
-    response.put("user", userMap);
-
-    // JWT tokens
-    response.put("accessToken", accessToken);
-    response.put("refreshToken", refreshToken);
-    response.put("tokenType", "Bearer");
-    response.put("expiresIn", 86400); // 24 hours in seconds
-
-    return response;
-  }
-
-
-  // Helper method to create consistent user response
-  private Map<String, Object> createUserResponse(String message, User user) {
-    Map<String, Object> response = new HashMap<>();
-    response.put("message", message);
-
-    Map<String, Object> userMap = new HashMap<>();
-    userMap.put("id", user.getId());
-    userMap.put("name", user.getUsername());
-    userMap.put("email", user.getEmail());
-    userMap.put("dateOfBirth", user.getDateOfBirth() != null ? user.getDateOfBirth().toString() : null);
-    userMap.put("heightCm", user.getHeightCm());
-    userMap.put("currentWeightKg", user.getCurrentWeightKg());
-    userMap.put("gender", user.getGender() != null ? user.getGender().toString() : null);
-    userMap.put("activityLevel", user.getActivityLevel() != null ? user.getActivityLevel().toString() : null);
-    userMap.put("fitnessGoal", user.getFitnessGoal() != null ? user.getFitnessGoal().toString() : null);
-    userMap.put("targetWeightKg", user.getTargetWeightKg());
-    userMap.put("preferredUnits", user.getPreferredUnits());
-    userMap.put("timezone", user.getTimezone());
-    userMap.put("age", user.getAge());
-    userMap.put("bmi", user.getBMI());
-    userMap.put("createdAt", user.getCreatedAt());
-
-    response.put("user", userMap);
-    return response;
+  // Same epoch check as JwtAuthenticationFilter, plus the epoch on the row just loaded
+  private boolean isCurrent(VerifiedToken verified, User user) {
+    return Boolean.TRUE.equals(user.getIsActive())
+        && user.getId().equals(verified.userId())
+        && tokenEpochTable.isCurrent(user.getId(), verified.epoch())
+        && verified.epoch() >= (user.getTokenEpoch() != null ? user.getTokenEpoch() : 0);
   }
 
-  // Helper methods for parsing request parameters
-  private Integer parseInteger(Object value) {
-    if (value == null) return null;
-    if (value instanceof Integer) return (Integer) value;
-    if (value instanceof String) {
-      String str = (String) value;
-      return str.trim().isEmpty() ? null : Integer.parseInt(str);
+  // Revoke a token if it is still valid; invalid or expired tokens need no revocation
+  private void revokeQuietly(String token) {
+    try {
+      VerifiedToken verified = jwtUtil.verify(token);
+      tokenRevocationService.revoke(verified.tokenId(), verified.expiration().getTime());
+    } catch (JwtException ignored) {
     }
-    return null;
   }
 
-  private Double parseDouble(Object value) {
-    if (value == null) return null;
-    if (value instanceof Double) return (Double) value;
-    if (value instanceof Integer) return ((Integer) value).doubleValue();
-    if (value instanceof String) {
-      String str = (String) value;
-      return str.trim().isEmpty() ? null : Double.parseDouble(str);
-    }
-    return null;
-  }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.fitnessplatform.user_service.auth;
+
+import com.fitnessplatform.user_service.user.User;
+import com.fitnessplatform.user_service.user.UserResponse;
+
+// Returned by registration and login: the user plus a fresh token pair
+public record AuthResponse(
+    String message,
+    UserResponse user,
+    String accessToken,
+    String refreshToken,
+    String tokenType,
+    int expiresIn) {
+
+  public static AuthResponse of(String message, User user, String accessToken, String refreshToken) {
+    return new AuthResponse(message, UserResponse.from(user), accessToken, refreshToken,
+        "Bearer", 86400); // 24 hours in seconds
+  }
+}
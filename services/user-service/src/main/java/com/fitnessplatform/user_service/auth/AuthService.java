@@ -1,80 +1,70 @@
 package com.fitnessplatform.user_service.auth;
 
+import com.fitnessplatform.user_service.jwt.TokenEpochTable;
 import com.fitnessplatform.user_service.user.User;
 import com.fitnessplatform.user_service.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
 import java.util.Optional;
 
 @Service
 public class AuthService {
 
+  // PostgreSQL SQLSTATE for unique_violation
+  private static final String UNIQUE_VIOLATION = "23505";
+
   @Autowired
   private UserRepository userRepository;
 
   @Autowired
-  private PasswordEncoder passwordEncoder;
+  private PasswordHasher passwordHasher;
 
-  // Basic registration (for backward compatibility)
-  public User registerUser(String username, String email, String password, String dateOfBirthString) {
-    if (userRepository.existsByEmail(email)) {
-      throw new RuntimeException("Email already exists");
-    }
-
-    LocalDate dateOfBirth = null;
-    if (dateOfBirthString != null && !dateOfBirthString.trim().isEmpty()) {
-      try {
-        dateOfBirth = LocalDate.parse(dateOfBirthString);
-      } catch (DateTimeParseException e) {
-        throw new RuntimeException("Invalid date format. Please use YYYY-MM-DD");
-      }
-    }
+  @Autowired
+  private TokenEpochTable tokenEpochTable;
 
-    String hashedPassword = passwordEncoder.encode(password);
+  // Basic registration (for backward compatibility)
+  // Input is already validated by the request binding, so bad input never pays for a bcrypt hash
+  public User registerUser(String username, String email, String password, LocalDate dateOfBirth) {
+    String hashedPassword = passwordHasher.encode(password);
     User user = new User(username, email, hashedPassword);
     user.setDateOfBirth(dateOfBirth);
 
-    return userRepository.save(user);
+    return insertNewUser(user);
   }
 
   // Enhanced registration with full profile
   public User registerUserWithProfile(String username, String email, String password,
-                                      String dateOfBirthString, Integer heightCm,
-                                      Double currentWeightKg, String genderString,
-                                      String activityLevelString, String fitnessGoalString,
+                                      LocalDate dateOfBirth, Integer heightCm,
+                                      Double currentWeightKg, User.Gender gender,
+                                      User.ActivityLevel activityLevel, User.FitnessGoal fitnessGoal,
                                       Double targetWeightKg, String preferredUnits) {
 
-    if (userRepository.existsByEmail(email)) {
-      throw new RuntimeException("Email already exists");
-    }
-
-    // Parse date of birth
-    LocalDate dateOfBirth = null;
-    if (dateOfBirthString != null && !dateOfBirthString.trim().isEmpty()) {
-      try {
-        dateOfBirth = LocalDate.parse(dateOfBirthString);
-      } catch (DateTimeParseException e) {
-        throw new RuntimeException("Invalid date format. Please use YYYY-MM-DD");
-      }
-    }
-
-    // Parse enums
-    User.Gender gender = parseGender(genderString);
-    User.ActivityLevel activityLevel = parseActivityLevel(activityLevelString);
-    User.FitnessGoal fitnessGoal = parseFitnessGoal(fitnessGoalString);
-
     // Hash password
-    String hashedPassword = passwordEncoder.encode(password);
+    String hashedPassword = passwordHasher.encode(password);
 
     // Create user with full profile
     User user = new User(username, email, hashedPassword, dateOfBirth, heightCm,
         currentWeightKg, gender, activityLevel, fitnessGoal,
         targetWeightKg, preferredUnits);
 
-    return userRepository.save(user);
+    return insertNewUser(user);
+  }
+
+  // Single INSERT; the unique email index decides duplicates atomically, so there is
+  // no separate existence query and no race between concurrent signups
+  private User insertNewUser(User user) {
+    try {
+      return userRepository.save(user);
+    } catch (DataIntegrityViolationException e) {
+      if (isUniqueViolation(e)) {
+        throw new RuntimeException("Email already exists");
+      }
+      throw e;
+    }
   }
 
   // Login method remains the same
@@ -86,17 +76,26 @@ public class AuthService {
 
     User user = userOptional.get();
 
-    if (!passwordEncoder.matches(password, user.getPassword())) {
+    if (!passwordHasher.matches(password, user.getPassword())) {
       throw new RuntimeException("Invalid email or password");
     }
 
+    // Bring hashes made at another cost in line with this host's calibration
+    if (passwordHasher.needsRehash(user.getPassword())) {
+      Long userId = user.getId();
+      String oldHash = user.getPassword();
+      passwordHasher.rehashInBackground(password,
+          newHash -> userRepository.replacePasswordHash(userId, oldHash, newHash));
+    }
+
     return user;
   }
 
-  // Update user profile
+  // Update user profile (read and write on the primary, in one transaction)
+  @Transactional
   public User updateUserProfile(Long userId, String name, Integer heightCm,
-                                Double currentWeightKg, String genderString,
-                                String activityLevelString, String fitnessGoalString,
+                                Double currentWeightKg, User.Gender gender,
+                                User.ActivityLevel activityLevel, User.FitnessGoal fitnessGoal,
                                 Double targetWeightKg, String preferredUnits, String timezone) {
 
     Optional<User> userOptional = userRepository.findById(userId);
@@ -116,14 +115,14 @@ public class AuthService {
     if (currentWeightKg != null && currentWeightKg > 0) {
       user.setCurrentWeightKg(currentWeightKg);
     }
-    if (genderString != null) {
-      user.setGender(parseGender(genderString));
+    if (gender != null) {
+      user.setGender(gender);
     }
-    if (activityLevelString != null) {
-      user.setActivityLevel(parseActivityLevel(activityLevelString));
+    if (activityLevel != null) {
+      user.setActivityLevel(activityLevel);
     }
-    if (fitnessGoalString != null) {
-      user.setFitnessGoal(parseFitnessGoal(fitnessGoalString));
+    if (fitnessGoal != null) {
+      user.setFitnessGoal(fitnessGoal);
     }
     if (targetWeightKg != null && targetWeightKg > 0) {
       user.setTargetWeightKg(targetWeightKg);
@@ -139,12 +138,14 @@ public class AuthService {
   }
 
   // Get user profile
+  @Transactional(readOnly = true)
   public User getUserProfile(Long userId) {
     return userRepository.findById(userId)
         .orElseThrow(() -> new RuntimeException("User not found"));
   }
 
   // Get user by email
+  @Transactional(readOnly = true)
   public User getUserByEmail(String email) {
     return userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("Email not found: " + email));
   }
@@ -154,55 +155,37 @@ public class AuthService {
     try {
       User user = loginUser(email, password);
       return true; // If login succeeds, password is correct
+    } catch (PasswordHashingRejectedException e) {
+      throw e; // Saturation is not a wrong password
     } catch (Exception e) {
       return false; // If login fails, password is incorrect
     }
   }
 
-  // Update password
+  // Update password; hashed before the row is read so no connection is held while hashing
+  @Transactional
   public void updatePassword(Long userId, String newPassword) {
+    String hashedPassword = passwordHasher.encode(newPassword);
+
     Optional<User> userOptional = userRepository.findById(userId);
     if (userOptional.isEmpty()) {
       throw new RuntimeException("User not found");
     }
 
     User user = userOptional.get();
-    String hashedPassword = passwordEncoder.encode(newPassword);
     user.setPassword(hashedPassword);
+    user.bumpTokenEpoch(); // Tokens issued before the change stop working
     userRepository.save(user);
+    tokenEpochTable.bump(userId, user.getTokenEpoch());
   }
 
-  // Helper methods to parse enums safely
-  private User.Gender parseGender(String genderString) {
-    if (genderString == null || genderString.trim().isEmpty()) {
-      return null;
-    }
-    try {
-      return User.Gender.valueOf(genderString.toUpperCase());
-    } catch (IllegalArgumentException e) {
-      throw new RuntimeException("Invalid gender value: " + genderString);
-    }
-  }
-
-  private User.ActivityLevel parseActivityLevel(String activityLevelString) {
-    if (activityLevelString == null || activityLevelString.trim().isEmpty()) {
-      return null;
-    }
-    try {
-      return User.ActivityLevel.valueOf(activityLevelString.toUpperCase());
-    } catch (IllegalArgumentException e) {
-      throw new RuntimeException("Invalid activity level value: " + activityLevelString);
-    }
-  }
-
-  private User.FitnessGoal parseFitnessGoal(String fitnessGoalString) {
-    if (fitnessGoalString == null || fitnessGoalString.trim().isEmpty()) {
-      return null;
-    }
-    try {
-      return User.FitnessGoal.valueOf(fitnessGoalString.toUpperCase());
-    } catch (IllegalArgumentException e) {
-      throw new RuntimeException("Invalid fitness goal value: " + fitnessGoalString);
+  // The only unique constraint on users besides the primary key is the email index
+  private boolean isUniqueViolation(DataIntegrityViolationException e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+        return true;
+      }
     }
+    return false;
   }
-}
\ No newline at end of file
+}
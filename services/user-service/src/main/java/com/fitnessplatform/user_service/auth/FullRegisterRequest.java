@@ -0,0 +1,48 @@
+package com.fitnessplatform.user_service.auth;
+
+import com.fitnessplatform.user_service.user.User;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+// Body of POST /api/auth/register/full; constraints mirror the User entity
+public record FullRegisterRequest(
+    @NotBlank(message = "Username is required")
+    @Size(min = 2, max = 100, message = "Username must be between 2 and 100 characters")
+    String username,
+
+    @Email(message = "Email must be valid")
+    @NotBlank(message = "Email is required")
+    @Size(max = 150, message = "Email must not exceed 150 characters")
+    String email,
+
+    @NotBlank(message = "Password is required")
+    String password,
+
+    @Past(message = "Date of birth must be in the past")
+    LocalDate dateOfBirth,
+
+    // Physical profile
+    @Positive(message = "Height must be positive")
+    Integer heightCm,
+
+    @Positive(message = "Current weight must be positive")
+    Double currentWeightKg,
+
+    User.Gender gender,
+
+    // Fitness profile
+    User.ActivityLevel activityLevel,
+    User.FitnessGoal fitnessGoal,
+
+    @Positive(message = "Target weight must be positive")
+    Double targetWeightKg,
+
+    // Preferences
+    @Size(max = 10, message = "Preferred units must not exceed 10 characters")
+    String preferredUnits) {
+}
@@ -0,0 +1,198 @@
+package com.fitnessplatform.user_service.auth;
+
+import com.fitnessplatform.user_service.config.BCryptCostCalibrator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Runs BCrypt hashing and verification on a dedicated, bounded pool so a login spike
+// cannot occupy every servlet thread. When the queue is full, work is rejected
+// immediately instead of piling up behind the CPU.
+@Component
+public class PasswordHasher {
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private BCryptCostCalibrator bCryptCostCalibrator;
+
+  @Value("${password.hashing.threads:0}") // 0 = one per available core
+  private int threads;
+
+  @Value("${password.hashing.queue-capacity:64}")
+  private int queueCapacity;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private ThreadPoolExecutor executor;
+
+  private OperationStats encodeStats;
+  private OperationStats matchStats;
+
+  @PostConstruct
+  void start() {
+    encodeStats = new OperationStats(meterRegistry, "encode");
+    matchStats = new OperationStats(meterRegistry, "matches");
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger counter = new AtomicInteger();
+    executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+
+    // Saturation: queued work waits for a hashing thread, a full queue means 503s
+    Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+    Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    Gauge.builder("password.hashing.pool.size", executor, ThreadPoolExecutor::getMaximumPoolSize).register(meterRegistry);
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdown();
+  }
+
+  public String encode(String rawPassword) {
+    return run(() -> passwordEncoder.encode(rawPassword), encodeStats);
+  }
+
+  public boolean matches(String rawPassword, String encodedPassword) {
+    return run(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchStats);
+  }
+
+  // Whether a stored hash was made at a different cost than this host is calibrated for
+  public boolean needsRehash(String encodedPassword) {
+    return BCryptCostCalibrator.costOf(encodedPassword) != bCryptCostCalibrator.getCost();
+  }
+
+  // Best-effort re-encode at the current cost. Only runs when the pool has no backlog,
+  // so upgrades never delay interactive logins; skipped work is retried on a later login.
+  public void rehashInBackground(String rawPassword, Consumer<String> onEncoded) {
+    if (!executor.getQueue().isEmpty()) {
+      return;
+    }
+    try {
+      executor.execute(() -> {
+        long started = System.nanoTime();
+        String encoded = passwordEncoder.encode(rawPassword);
+        encodeStats.record(0, System.nanoTime() - started);
+        onEncoded.accept(encoded);
+      });
+    } catch (RejectedExecutionException ignored) {
+    }
+  }
+
+  // Pool state and latency per operation, for monitoring
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("poolSize", executor.getMaximumPoolSize());
+    stats.put("activeThreads", executor.getActiveCount());
+    stats.put("queueDepth", executor.getQueue().size());
+    stats.put("queueCapacity", queueCapacity);
+    stats.put("rejected", (long) (encodeStats.rejected.count() + matchStats.rejected.count()));
+    stats.put("encode", encodeStats.toMap());
+    stats.put("matches", matchStats.toMap());
+    return stats;
+  }
+
+  private <T> T run(Callable<T> work, OperationStats stats) {
+    long submitted = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        long started = System.nanoTime();
+        try {
+          return work.call();
+        } finally {
+          stats.record(started - submitted, System.nanoTime() - started);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      stats.rejected.increment();
+      throw new PasswordHashingRejectedException(retryAfterSeconds());
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new RuntimeException("Password hashing interrupted");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  // Rough time for the current backlog to drain, at least one second
+  private long retryAfterSeconds() {
+    long avgNanos = Math.max(encodeStats.averageNanos(), matchStats.averageNanos());
+    long backlogNanos = avgNanos * (executor.getQueue().size() + executor.getActiveCount())
+        / executor.getMaximumPoolSize();
+    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(backlogNanos) + 1);
+  }
+
+  // Running totals for stats() and Retry-After, mirrored into Micrometer
+  // (password.hashing.run / .queue.wait timers and .rejected counter, tagged by operation)
+  private static final class OperationStats {
+    final LongAdder count = new LongAdder();
+    final LongAdder totalWaitNanos = new LongAdder();
+    final LongAdder totalRunNanos = new LongAdder();
+    final AtomicLong maxRunNanos = new AtomicLong();
+    final Timer runTimer;
+    final Timer waitTimer;
+    final Counter rejected;
+
+    OperationStats(MeterRegistry registry, String operation) {
+      runTimer = Timer.builder("password.hashing.run").tag("operation", operation).register(registry);
+      waitTimer = Timer.builder("password.hashing.queue.wait").tag("operation", operation).register(registry);
+      rejected = Counter.builder("password.hashing.rejected").tag("operation", operation).register(registry);
+    }
+
+    void record(long waitNanos, long runNanos) {
+      runTimer.record(runNanos, TimeUnit.NANOSECONDS);
+      waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+      count.increment();
+      totalWaitNanos.add(waitNanos);
+      totalRunNanos.add(runNanos);
+      maxRunNanos.accumulateAndGet(runNanos, Math::max);
+    }
+
+    long averageNanos() {
+      long n = count.sum();
+      return n == 0 ? 0 : totalRunNanos.sum() / n;
+    }
+
+    Map<String, Object> toMap() {
+      long n = count.sum();
+      Map<String, Object> map = new LinkedHashMap<>();
+      map.put("count", n);
+      map.put("avgQueueWaitMs", n == 0 ? 0.0 : totalWaitNanos.sum() / n / 1e6);
+      map.put("avgRunMs", averageNanos() / 1e6);
+      map.put("maxRunMs", maxRunNanos.get() / 1e6);
+      return map;
+    }
+  }
+}
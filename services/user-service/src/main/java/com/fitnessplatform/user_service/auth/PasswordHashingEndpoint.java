@@ -0,0 +1,23 @@
+package com.fitnessplatform.user_service.auth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Password hashing pool queue depth and latency, at /actuator/password-hashing on the
+// management port (not the public one: it shows how close the pool is to rejecting)
+@Component
+@Endpoint(id = "password-hashing")
+public class PasswordHashingEndpoint {
+
+  @Autowired
+  private PasswordHasher passwordHasher;
+
+  @ReadOperation
+  public Map<String, Object> stats() {
+    return passwordHasher.stats();
+  }
+}
@@ -0,0 +1,16 @@
+package com.fitnessplatform.user_service.auth;
+
+// Thrown when the password hashing pool is saturated and the request should be retried later
+public class PasswordHashingRejectedException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public PasswordHashingRejectedException(long retryAfterSeconds) {
+    super("Service is busy, please retry later");
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
@@ -0,0 +1,9 @@
+package com.fitnessplatform.user_service.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+// Body of POST /api/auth/refresh, and the optional body of /logout
+public record RefreshTokenRequest(
+    @NotBlank(message = "Refresh token is required")
+    String refreshToken) {
+}
@@ -0,0 +1,26 @@
+package com.fitnessplatform.user_service.auth;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+// Body of POST /api/auth/register; constraints mirror the User entity
+public record RegisterRequest(
+    @NotBlank(message = "Username is required")
+    @Size(min = 2, max = 100, message = "Username must be between 2 and 100 characters")
+    String username,
+
+    @Email(message = "Email must be valid")
+    @NotBlank(message = "Email is required")
+    @Size(max = 150, message = "Email must not exceed 150 characters")
+    String email,
+
+    @NotBlank(message = "Password is required")
+    String password,
+
+    @Past(message = "Date of birth must be in the past")
+    LocalDate dateOfBirth) {
+}
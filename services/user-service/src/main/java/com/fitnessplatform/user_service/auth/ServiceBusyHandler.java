@@ -0,0 +1,21 @@
+package com.fitnessplatform.user_service.auth;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+// Turns password hashing backpressure into 503 + Retry-After so clients back off
+@RestControllerAdvice
+public class ServiceBusyHandler {
+
+  @ExceptionHandler(PasswordHashingRejectedException.class)
+  public ResponseEntity<?> handleBusy(PasswordHashingRejectedException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+        .body(Map.of("error", e.getMessage()));
+  }
+}
@@ -0,0 +1,4 @@
+package com.fitnessplatform.user_service.auth;
+
+public record TokenRefreshResponse(String message, String accessToken, String tokenType, int expiresIn) {
+}
@@ -0,0 +1,92 @@
+package com.fitnessplatform.user_service.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+// Picks the BCrypt cost for this host at startup: the strongest cost whose hash time
+// still fits the configured login latency budget. Each cost step doubles the work,
+// so one measurement at the minimum cost predicts the rest; the pick is then confirmed.
+@Component
+public class BCryptCostCalibrator {
+
+  private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+  private static final int SAMPLES = 3;
+
+  @Value("${password.bcrypt.cost:0}") // Fixed cost; 0 = calibrate on startup
+  private int fixedCost;
+
+  @Value("${password.bcrypt.latency-budget-ms:250}")
+  private long latencyBudgetMs;
+
+  @Value("${password.bcrypt.min-cost:10}")
+  private int minCost;
+
+  @Value("${password.bcrypt.max-cost:16}")
+  private int maxCost;
+
+  private int cost;
+
+  @PostConstruct
+  void calibrate() {
+    if (fixedCost > 0) {
+      cost = fixedCost;
+      log.info("Using configured BCrypt cost {}", cost);
+      return;
+    }
+
+    long budgetNanos = latencyBudgetMs * 1_000_000;
+    long predicted = measure(minCost);
+    int candidate = minCost;
+    while (candidate < maxCost && predicted * 2 <= budgetNanos) {
+      candidate++;
+      predicted *= 2;
+    }
+    // The prediction ignores per-cost overhead, so check the pick and back off if needed
+    long measured = candidate == minCost ? predicted : measure(candidate);
+    while (candidate > minCost && measured > budgetNanos) {
+      candidate--;
+      measured /= 2;
+    }
+    if (measured > budgetNanos) {
+      log.warn("BCrypt cost {} takes {} ms, above the {} ms budget", candidate, measured / 1_000_000, latencyBudgetMs);
+    }
+    cost = candidate;
+    log.info("Calibrated BCrypt cost {} (~{} ms per hash, budget {} ms)", cost, measured / 1_000_000, latencyBudgetMs);
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  // Cost encoded in a BCrypt hash ("$2a$10$..."), or -1 if it is not a BCrypt hash
+  public static int costOf(String encodedPassword) {
+    if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+        || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+      return -1;
+    }
+    char tens = encodedPassword.charAt(4);
+    char ones = encodedPassword.charAt(5);
+    if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+      return -1;
+    }
+    return (tens - '0') * 10 + (ones - '0');
+  }
+
+  // Slowest of a few timed hashes after one warm-up
+  private long measure(int rounds) {
+    String salt = BCrypt.gensalt(rounds);
+    BCrypt.hashpw("calibration-password", salt);
+    long slowest = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      BCrypt.hashpw("calibration-password", salt);
+      slowest = Math.max(slowest, System.nanoTime() - start);
+    }
+    return slowest;
+  }
+}
@@ -0,0 +1,90 @@
+package com.fitnessplatform.user_service.config;
+
+import com.fitnessplatform.user_service.profiling.SqlProfilingListener;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Primary pool from spring.datasource, optional read replicas from datasource.replica-urls
+// (same credentials as the primary). With no replicas every query goes to the primary.
+@Configuration
+public class DataSourceConfig {
+
+  @Value("${datasource.replica-urls:}")
+  private List<String> replicaUrls;
+
+  @Value("${datasource.replica-pool-size:10}")
+  private int replicaPoolSize;
+
+  @Value("${sql.profiler.enabled:true}")
+  private boolean sqlProfilerEnabled;
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    primary.setPoolName("primary");
+    return primary;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                    DataSourceProperties properties,
+                                                    ReadYourWritesTracker readYourWritesTracker,
+                                                    MeterRegistry meterRegistry) {
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+    List<String> keys = new ArrayList<>();
+    List<HikariDataSource> replicas = new ArrayList<>();
+
+    for (String url : replicaUrls) {
+      if (url.isBlank()) continue;
+      String key = "replica-" + keys.size();
+      HikariDataSource replica = properties.initializeDataSourceBuilder()
+          .type(HikariDataSource.class).url(url.trim()).build();
+      replica.setPoolName(key);
+      replica.setMaximumPoolSize(replicaPoolSize);
+      replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+      replica.setReadOnly(true);
+      // Replica pools are not beans, so bind their hikaricp.* metrics here
+      replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      targets.put(key, replica);
+      keys.add(key);
+      replicas.add(replica);
+    }
+
+    ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(keys, replicas, readYourWritesTracker);
+    routing.setTargetDataSources(targets);
+    routing.setDefaultTargetDataSource(primaryDataSource);
+    return routing;
+  }
+
+  // What JPA, JdbcTemplate and the rest of the application use. The profiling proxy is
+  // outermost so statements are attributed to the request whichever pool serves them.
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource routingDataSource, SqlProfilingListener sqlProfilingListener) {
+    DataSource lazy = new LazyConnectionDataSourceProxy(routingDataSource);
+    if (!sqlProfilerEnabled) {
+      return lazy;
+    }
+    return ProxyDataSourceBuilder.create(lazy)
+        .name("user-service")
+        .listener(sqlProfilingListener)
+        .build();
+  }
+}
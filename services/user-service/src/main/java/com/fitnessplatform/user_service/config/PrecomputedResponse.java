@@ -0,0 +1,135 @@
+package com.fitnessplatform.user_service.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// A JSON response whose body never changes while the process runs (it depends only on
+// code, e.g. enum values). Serialized and gzipped once at startup; every request is then
+// answered with one of three prebuilt ResponseEntity instances, so there is no
+// per-request serialization, compression or header building.
+public final class PrecomputedResponse {
+
+  private static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+  private final String etag;
+  private final String gzipEtag;
+  private final ResponseEntity<byte[]> identity;
+  private final ResponseEntity<byte[]> gzip;
+  private final ResponseEntity<byte[]> notModified;
+  private final ResponseEntity<byte[]> gzipNotModified;
+
+  private PrecomputedResponse(byte[] body, CacheControl cacheControl) {
+    byte[] compressed = gzip(body);
+    String hash = contentHash(body);
+    this.etag = "\"" + hash + "\"";
+    this.gzipEtag = "\"" + hash + "-gzip\""; // Strong ETags differ per content coding
+
+    this.identity = ResponseEntity.ok().headers(headers(etag, cacheControl, null)).contentType(JSON)
+        .contentLength(body.length).body(body);
+    this.gzip = ResponseEntity.ok().headers(headers(gzipEtag, cacheControl, "gzip")).contentType(JSON)
+        .contentLength(compressed.length).body(compressed);
+    this.notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers(etag, cacheControl, null)).build();
+    this.gzipNotModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers(gzipEtag, cacheControl, null)).build();
+  }
+
+  public static PrecomputedResponse of(ObjectMapper objectMapper, Object body, CacheControl cacheControl) {
+    try {
+      return new PrecomputedResponse(objectMapper.writeValueAsBytes(body), cacheControl);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize precomputed response", e);
+    }
+  }
+
+  // Pick the variant for this request's Accept-Encoding and If-None-Match
+  public ResponseEntity<byte[]> serve(String acceptEncoding, String ifNoneMatch) {
+    boolean useGzip = acceptsGzip(acceptEncoding);
+    if (ifNoneMatch != null && matches(ifNoneMatch, useGzip ? gzipEtag : etag)) {
+      return useGzip ? gzipNotModified : notModified;
+    }
+    return useGzip ? gzip : identity;
+  }
+
+  public String getEtag() {
+    return etag;
+  }
+
+  private static HttpHeaders headers(String etag, CacheControl cacheControl, String contentEncoding) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag(etag);
+    headers.setCacheControl(cacheControl);
+    headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+    if (contentEncoding != null) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+    }
+    return headers;
+  }
+
+  // gzip unless absent or explicitly refused with q=0
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) return false;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      String name = parts[0].trim();
+      if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) continue;
+      for (int i = 1; i < parts.length; i++) {
+        String param = parts[i].trim();
+        if (param.startsWith("q=") && isZero(param.substring(2))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static boolean isZero(String qvalue) {
+    try {
+      return Double.parseDouble(qvalue) == 0.0;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private static boolean matches(String ifNoneMatch, String current) {
+    for (String tag : ifNoneMatch.split(",")) {
+      String candidate = tag.trim();
+      if (candidate.equals("*") || candidate.equals(current) || candidate.equals("W/" + current)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] gzip(byte[] body) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static String contentHash(byte[] body) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.fitnessplatform.user_service.config;
+
+import com.fitnessplatform.user_service.jwt.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers which users wrote recently so their reads stay on the primary until
+// replicas have caught up. Keyed by the authenticated user id; anonymous requests
+// and background work are never pinned. State is per instance.
+@Component
+public class ReadYourWritesTracker {
+
+  @Value("${datasource.read-your-writes-ms:2000}")
+  private long windowMillis;
+
+  // userId -> time of the last write
+  private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+  public void recordWrite() {
+    Long userId = currentUserId();
+    if (userId != null) {
+      lastWrites.put(userId, System.currentTimeMillis());
+    }
+  }
+
+  // True while the current user is inside the read-your-writes window
+  public boolean mustReadPrimary() {
+    Long userId = currentUserId();
+    if (userId == null) {
+      return false;
+    }
+    Long writtenAt = lastWrites.get(userId);
+    return writtenAt != null && System.currentTimeMillis() - writtenAt < windowMillis;
+  }
+
+  @Scheduled(fixedDelay = 60_000)
+  public void evictExpired() {
+    long cutoff = System.currentTimeMillis() - windowMillis;
+    lastWrites.values().removeIf(writtenAt -> writtenAt < cutoff);
+  }
+
+  private Long currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof VerifiedToken token) {
+      return token.userId();
+    }
+    return null;
+  }
+}
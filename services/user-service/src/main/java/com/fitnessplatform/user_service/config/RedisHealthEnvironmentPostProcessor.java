@@ -0,0 +1,33 @@
+package com.fitnessplatform.user_service.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+// Redis is on the classpath for the optional shared backends, so Actuator would add a Redis
+// health indicator and report DOWN on deployments that never use Redis. Enable it only when
+// revocation.backend or login-throttle.backend is redis (an explicit setting still wins).
+// Runs after application.yml is loaded; registered in META-INF/spring.factories.
+public class RedisHealthEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+  static final String PROPERTY = "management.health.redis.enabled";
+
+  @Override
+  public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+    if (environment.containsProperty(PROPERTY)) {
+      return;
+    }
+    boolean redisInUse = "redis".equals(environment.getProperty("revocation.backend"))
+        || "redis".equals(environment.getProperty("login-throttle.backend"));
+    environment.getPropertySources().addLast(new MapPropertySource("redisHealth", Map.of(PROPERTY, redisInUse)));
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.LOWEST_PRECEDENCE;
+  }
+}
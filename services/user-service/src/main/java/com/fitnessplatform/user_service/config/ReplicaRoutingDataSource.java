@@ -0,0 +1,48 @@
+package com.fitnessplatform.user_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only transactions to the replica pools (round robin) and everything else
+// to the primary. Must sit behind a LazyConnectionDataSourceProxy: the read-only flag
+// of a transaction is only known after the transaction manager has begun it.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+  public static final String PRIMARY = "primary";
+
+  private final List<String> replicaKeys;
+  private final List<HikariDataSource> replicas;
+  private final ReadYourWritesTracker readYourWrites;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(List<String> replicaKeys, List<HikariDataSource> replicas,
+                                  ReadYourWritesTracker readYourWrites) {
+    this.replicaKeys = replicaKeys;
+    this.replicas = replicas;
+    this.readYourWrites = readYourWrites;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    if (!readOnly) {
+      // Anything that may write pins the user to the primary for a short window
+      readYourWrites.recordWrite();
+      return PRIMARY;
+    }
+    if (replicaKeys.isEmpty() || readYourWrites.mustReadPrimary()) {
+      return PRIMARY;
+    }
+    return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+  }
+
+  // Replica pools are owned here (the primary pool is its own bean)
+  @Override
+  public void close() {
+    replicas.forEach(HikariDataSource::close);
+  }
+}
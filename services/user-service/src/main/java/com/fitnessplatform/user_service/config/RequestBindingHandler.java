@@ -0,0 +1,51 @@
+package com.fitnessplatform.user_service.config;
+
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Rejects unreadable or invalid request bodies with the usual {"error": ...} shape,
+// before the handler runs, so bad input never reaches a service, bcrypt or the database
+@RestControllerAdvice
+public class RequestBindingHandler {
+
+  @ExceptionHandler(MethodArgumentNotValidException.class)
+  public ResponseEntity<?> handleInvalid(MethodArgumentNotValidException e) {
+    FieldError fieldError = e.getBindingResult().getFieldError();
+    String message = fieldError != null ? fieldError.getDefaultMessage() : "Invalid request";
+    return ResponseEntity.badRequest().body(Map.of("error", message));
+  }
+
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  public ResponseEntity<?> handleUnreadable(HttpMessageNotReadableException e) {
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof MismatchedInputException mismatched) {
+        return ResponseEntity.badRequest().body(Map.of("error", describe(mismatched)));
+      }
+    }
+    return ResponseEntity.badRequest().body(Map.of("error", "Malformed request body"));
+  }
+
+  // Name the offending member instead of echoing Jackson's internals
+  private String describe(MismatchedInputException cause) {
+    if (cause instanceof InvalidFormatException invalid) {
+      if (invalid.getTargetType() == LocalDate.class) {
+        return "Invalid date format. Please use YYYY-MM-DD";
+      }
+      return "Invalid " + fieldName(invalid) + " value: " + invalid.getValue();
+    }
+    return cause.getPath().isEmpty() ? "Malformed request body" : "Invalid " + fieldName(cause) + " value";
+  }
+
+  private String fieldName(MismatchedInputException e) {
+    return e.getPath().isEmpty() ? "request" : e.getPath().get(e.getPath().size() - 1).getFieldName();
+  }
+}
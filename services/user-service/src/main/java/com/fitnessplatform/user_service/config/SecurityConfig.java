@@ -1,9 +1,11 @@
 package com.fitnessplatform.user_service.config;
 
+import com.fitnessplatform.user_service.admin.AdminApiKeyFilter;
 import com.fitnessplatform.user_service.jwt.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -21,6 +23,12 @@ public class SecurityConfig {
   @Autowired
   private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+  @Autowired
+  private AdminApiKeyFilter adminApiKeyFilter;
+
+  @Autowired
+  private BCryptCostCalibrator bCryptCostCalibrator;
+
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
     http
@@ -29,20 +37,26 @@ public class SecurityConfig {
             // Public endpoints (no authentication required)
             .requestMatchers("/api/auth/**").permitAll()
             .requestMatchers("/health").permitAll()
+            .requestMatchers("/actuator/health", "/actuator/prometheus", "/actuator/password-hashing")
+            .permitAll() // Management port only
             .requestMatchers("/api/users/options").permitAll() // Public options endpoint
+            .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll() // Token verification keys
+            .requestMatchers(HttpMethod.GET, "/api/users").hasRole("ADMIN") // User listing
             // Protected endpoints (authentication required)
             .requestMatchers("/api/users/**").authenticated()
+            .requestMatchers("/api/admin/**").hasRole("ADMIN") // Admin API key (X-Admin-Key)
             .anyRequest().authenticated()
         )
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(adminApiKeyFilter, JwtAuthenticationFilter.class);
 
     return http.build();
   }
 
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    return new BCryptPasswordEncoder(bCryptCostCalibrator.getCost());
   }
 
   @Bean
@@ -0,0 +1,31 @@
+package com.fitnessplatform.user_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Logs which request threading model is in effect. Spring silently ignores
+// spring.threads.virtual.enabled below Java 21, so make that visible.
+@Component
+public class ThreadingModeReporter {
+
+  private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreadsRequested;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void report() {
+    int javaVersion = Runtime.version().feature();
+    if (virtualThreadsRequested && javaVersion < 21) {
+      log.warn("Virtual threads requested but running on Java {}; serving requests on platform threads", javaVersion);
+    } else if (virtualThreadsRequested) {
+      log.info("Serving requests on virtual threads");
+    } else {
+      log.info("Serving requests on Tomcat platform threads");
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.fitnessplatform.user_service.jwt;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+// Public keys for verifying access tokens (RFC 7517 JWK Set). Other services fetch and
+// cache this, then check token signatures in-process instead of calling /api/auth/validate.
+// They still cannot see revocations or epoch bumps; that needs /api/auth/validate.
+@RestController
+public class JwksController {
+
+  @Autowired
+  private JwtSigningKeys signingKeys;
+
+  @GetMapping("/.well-known/jwks.json")
+  public ResponseEntity<byte[]> jwks(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return signingKeys.jwks().serve(acceptEncoding, ifNoneMatch);
+  }
+}
@@ -1,12 +1,16 @@
 package com.fitnessplatform.user_service.jwt
     ;
 
+import com.fitnessplatform.user_service.revocation.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +19,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,32 +31,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
   @Autowired
   private UserDetailsService userDetailsService;
 
+  @Autowired
+  private TokenEpochTable tokenEpochTable;
+
+  @Autowired
+  private TokenRevocationService tokenRevocationService;
+
+  // Build the principal from verified claims only, without a per-request user lookup
+  @Value("${jwt.stateless:false}")
+  private boolean stateless;
+
+  private static final List<GrantedAuthority> USER_AUTHORITIES =
+      List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                   FilterChain chain) throws ServletException, IOException {
 
     final String authorizationHeader = request.getHeader("Authorization");
 
-    String username = null;
-    String jwt = null;
+    VerifiedToken token = null;
 
-    // Extract JWT from Authorization header
+    // Extract and verify JWT from Authorization header (the only parse for this request)
     if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-      jwt = authorizationHeader.substring(7);
+      String jwt = authorizationHeader.substring(7);
       try {
-        username = jwtUtil.extractUsername(jwt);
+        token = jwtUtil.verify(jwt);
       } catch (Exception e) {
-        logger.error("Cannot extract username from JWT token: " + e.getMessage());
+        logger.error("Cannot verify JWT token: " + e.getMessage());
+      }
+      // Logged-out tokens are treated like any other invalid token
+      if (token != null && tokenRevocationService.isRevoked(token.tokenId())) {
+        token = null;
       }
     }
 
-    // Validate token and set authentication
-    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+    // Set authentication with the verified token as principal
+    if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+      Collection<? extends GrantedAuthority> authorities = stateless
+          ? authoritiesFromClaims(token)
+          : authoritiesFromUserDetails(token);
 
-      if (jwtUtil.validateToken(jwt) && userDetails != null) {
+      if (authorities != null) {
         UsernamePasswordAuthenticationToken authToken =
-            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            new UsernamePasswordAuthenticationToken(token, null, authorities);
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authToken);
       }
@@ -58,4 +82,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     chain.doFilter(request, response);
   }
+
+  // Stateless mode: trust the signed claims, reject tokens older than the user's epoch
+  private Collection<? extends GrantedAuthority> authoritiesFromClaims(VerifiedToken token) {
+    if (token.userId() == null || !tokenEpochTable.isCurrent(token.userId(), token.epoch())) {
+      return null;
+    }
+    return USER_AUTHORITIES;
+  }
+
+  // Lookup mode: load the user on every request
+  private Collection<? extends GrantedAuthority> authoritiesFromUserDetails(VerifiedToken token) {
+    UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.email());
+    if (userDetails == null || !userDetails.isEnabled()) {
+      return null;
+    }
+    return userDetails.getAuthorities();
+  }
 }
\ No newline at end of file
@@ -3,34 +3,90 @@ package com.fitnessplatform.user_service.jwt;
 import com.fitnessplatform.user_service.user.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+  // HS256 key: still verifies tokens issued before the switch to ES256 (see jwt.accept-hs256)
   @Value("${jwt.secret:mySecretKey12345678901234567890123456789012345678901234567890}")
   private String secret;
 
+  // ES256 (keys from JwtSigningKeys, verifiable by other services via JWKS) or HS256 (shared secret)
+  @Value("${jwt.signing-algorithm:ES256}")
+  private String signingAlgorithm;
+
+  @Value("${jwt.accept-hs256:true}")
+  private boolean acceptHs256;
+
+  @Value("${jwt.verify-cache-size:4096}") // 0 disables
+  private int verifyCacheSize;
+
   @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
   private Long jwtExpiration;
 
   @Value("${jwt.refresh-expiration:604800000}") // 7 days in milliseconds
   private Long refreshExpiration;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private JwtSigningKeys signingKeys;
+
+  // Key and parser are immutable and thread-safe, so build them once
+  private SecretKey hmacKey;
+  private boolean signWithEs256;
+  private JwtParser parser;
+
+  // ES256 verification costs about a millisecond of CPU, and clients send the same token on
+  // every request: remember recently verified tokens (exact string match, until they expire
+  // or the key set changes). Direct-mapped, so a collision simply replaces the older entry.
+  private AtomicReferenceArray<CachedVerification> verifyCache;
+
+  private record CachedVerification(String token, VerifiedToken verified, int keyGeneration) {
+  }
+
+  private Timer signAccessTimer;
+  private Timer signRefreshTimer;
+  private Timer verifyTimer;
+
+  @PostConstruct
+  void init() {
+    if (!signingAlgorithm.equals("ES256") && !signingAlgorithm.equals("HS256")) {
+      throw new IllegalStateException("jwt.signing-algorithm must be ES256 or HS256, got " + signingAlgorithm);
+    }
+    signWithEs256 = signingAlgorithm.equals("ES256");
+    hmacKey = Keys.hmacShaKeyFor(secret.getBytes());
+    parser = Jwts.parser().keyLocator(new VerificationKeyLocator()).build();
+    verifyCache = verifyCacheSize > 0 ? new AtomicReferenceArray<>(Integer.highestOneBit(verifyCacheSize)) : null;
+    signAccessTimer = Timer.builder("jwt.sign").tag("type", VerifiedToken.ACCESS).register(meterRegistry);
+    signRefreshTimer = Timer.builder("jwt.sign").tag("type", VerifiedToken.REFRESH).register(meterRegistry);
+    verifyTimer = Timer.builder("jwt.verify").register(meterRegistry);
+  }
+
   // Generate token for user
   public String generateToken(User user) {
     Map<String, Object> claims = new HashMap<>();
     claims.put("userId", user.getId());
     claims.put("email", user.getEmail());
     claims.put("name", user.getUsername());
-    return createToken(claims, user.getEmail());
+    claims.put("epoch", user.getTokenEpoch());
+    return signAccessTimer.record(() -> createToken(claims, user.getEmail()));
   }
 
   // Generate refresh token
@@ -39,34 +95,67 @@ public class JwtUtil {
     claims.put("userId", user.getId());
     claims.put("email", user.getEmail());
     claims.put("type", "refresh");
-    return createRefreshToken(claims, user.getEmail());
+    claims.put("epoch", user.getTokenEpoch());
+    return signRefreshTimer.record(() -> createRefreshToken(claims, user.getEmail()));
   }
 
   // Create JWT token
   private String createToken(Map<String, Object> claims, String subject) {
-    return Jwts.builder()
+    return sign(Jwts.builder()
         .claims(claims)
         .subject(subject)
+        .id(UUID.randomUUID().toString())
         .issuedAt(new Date(System.currentTimeMillis()))
-        .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-        .signWith(getSignKey(), Jwts.SIG.HS256)
-        .compact();
+        .expiration(new Date(System.currentTimeMillis() + jwtExpiration)));
   }
 
   // Create refresh token
   private String createRefreshToken(Map<String, Object> claims, String subject) {
-    return Jwts.builder()
+    return sign(Jwts.builder()
         .claims(claims)
         .subject(subject)
+        .id(UUID.randomUUID().toString())
         .issuedAt(new Date(System.currentTimeMillis()))
-        .expiration(new Date(System.currentTimeMillis() + refreshExpiration))
-        .signWith(getSignKey(), Jwts.SIG.HS256)
-        .compact();
+        .expiration(new Date(System.currentTimeMillis() + refreshExpiration)));
   }
 
-  // Get signing key
-  private SecretKey getSignKey() {
-    return Keys.hmacShaKeyFor(secret.getBytes());
+  // ES256 tokens name their key (kid) so verifiers can pick it from the JWK Set
+  private String sign(JwtBuilder builder) {
+    if (signWithEs256) {
+      return builder.header().keyId(signingKeys.signingKid()).and()
+          .signWith(signingKeys.signingKey(), Jwts.SIG.ES256)
+          .compact();
+    }
+    return builder.signWith(hmacKey, Jwts.SIG.HS256).compact();
+  }
+
+  // Verify signature and expiry once and capture everything callers need.
+  // Throws JwtException if the token is malformed, tampered with or expired.
+  public VerifiedToken verify(String token) {
+    int slot = verifyCache != null ? token.hashCode() & (verifyCache.length() - 1) : -1;
+    if (slot >= 0) {
+      CachedVerification cached = verifyCache.get(slot);
+      if (cached != null && cached.token().equals(token) && cached.keyGeneration() == signingKeys.generation()
+          && !cached.verified().isExpired()) {
+        return cached.verified();
+      }
+    }
+
+    int keyGeneration = signingKeys.generation();
+    Claims claims = verifyTimer.record(() -> extractAllClaims(token));
+    String type = claims.get("type", String.class);
+    Integer epoch = claims.get("epoch", Integer.class);
+    VerifiedToken verified = new VerifiedToken(
+        claims.getId(),
+        claims.get("userId", Long.class),
+        claims.getSubject(),
+        type != null ? type : VerifiedToken.ACCESS,
+        epoch != null ? epoch : 0,
+        claims.getExpiration());
+    if (slot >= 0) {
+      verifyCache.set(slot, new CachedVerification(token, verified, keyGeneration));
+    }
+    return verified;
   }
 
   // Extract username from token
@@ -92,9 +181,7 @@ public class JwtUtil {
 
   // Extract all claims
   private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-        .verifyWith(getSignKey())
-        .build()
+    return parser
         .parseSignedClaims(token)
         .getPayload();
   }
@@ -132,4 +219,25 @@ public class JwtUtil {
   public Boolean isRefreshToken(String token) {
     return "refresh".equals(extractTokenType(token));
   }
+
+  // Chooses the verification key from the token header. The algorithm decides the key type,
+  // so an HS256 token can never be checked against a published (public) EC key.
+  private class VerificationKeyLocator extends LocatorAdapter<Key> {
+
+    @Override
+    protected Key locate(JwsHeader header) {
+      String algorithm = header.getAlgorithm();
+      if ("ES256".equals(algorithm)) {
+        Key key = signingKeys.verificationKey(header.getKeyId());
+        if (key == null) {
+          throw new UnsupportedJwtException("Unknown signing key: " + header.getKeyId());
+        }
+        return key;
+      }
+      if ("HS256".equals(algorithm) && (acceptHs256 || !signWithEs256)) {
+        return hmacKey;
+      }
+      throw new UnsupportedJwtException("Unsupported signing algorithm: " + algorithm);
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.fitnessplatform.user_service.jwt;
+
+import com.fitnessplatform.user_service.revocation.TokenRevocationService;
+import com.fitnessplatform.user_service.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory table of per-user token epochs used by the stateless (claims-only) mode.
+// Only users whose epoch was ever bumped or who are inactive are stored, as sorted
+// primitive arrays, so the table stays small and lookups are a binary search.
+// Everyone else implicitly has epoch 0. Deleted users have no row left, so their
+// revocation is shared through TokenRevocationService instead.
+@Component
+public class TokenEpochTable {
+
+  private static final Logger log = LoggerFactory.getLogger(TokenEpochTable.class);
+
+  // Epoch that rejects every token (inactive accounts)
+  public static final int REVOKED = Integer.MAX_VALUE;
+
+  private static final Snapshot EMPTY = new Snapshot(new long[0], new int[0]);
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TokenRevocationService tokenRevocationService;
+
+  @Value("${jwt.stateless:false}")
+  private boolean stateless;
+
+  // Longest lifetime of any token, i.e. how long a deleted user's tokens stay revoked
+  @Value("${jwt.refresh-expiration:604800000}")
+  private long maxTokenLifetimeMillis;
+
+  private volatile Snapshot snapshot = EMPTY;
+
+  // Bumps made by this instance since the last refresh
+  private final Map<Long, Integer> localBumps = new ConcurrentHashMap<>();
+
+  // Check whether a token issued at the given epoch is still valid for the user
+  public boolean isCurrent(long userId, int tokenEpoch) {
+    if (tokenRevocationService.isUserRevoked(userId)) {
+      return false;
+    }
+    int current = snapshot.epochOf(userId);
+    if (!localBumps.isEmpty()) {
+      Integer local = localBumps.get(userId);
+      if (local != null && local > current) {
+        current = local;
+      }
+    }
+    return tokenEpoch >= current;
+  }
+
+  // Record a bump made by this instance so it takes effect before the next refresh
+  public void bump(long userId, int newEpoch) {
+    localBumps.merge(userId, newEpoch, Math::max);
+  }
+
+  // Reject every token for the user (account deleted), on every instance
+  public void revokeAll(long userId) {
+    tokenRevocationService.revokeUser(userId, System.currentTimeMillis() + maxTokenLifetimeMillis);
+  }
+
+  // Reload the sparse epoch table from the users table
+  @Scheduled(fixedDelayString = "${jwt.epoch-refresh-ms:30000}")
+  public void refresh() {
+    if (!stateless) {
+      return;
+    }
+    try {
+      List<Object[]> rows = userRepository.findTokenEpochs();
+      long[] ids = new long[rows.size()];
+      int[] epochs = new int[rows.size()];
+      for (int i = 0; i < ids.length; i++) {
+        Object[] row = rows.get(i);
+        ids[i] = (Long) row[0];
+        epochs[i] = Boolean.FALSE.equals(row[2]) ? REVOKED : (Integer) row[1];
+      }
+      Snapshot next = new Snapshot(ids, epochs);
+      snapshot = next;
+      // Drop local bumps the database now reflects
+      localBumps.entrySet().removeIf(e -> next.epochOf(e.getKey()) >= e.getValue());
+    } catch (Exception e) {
+      log.warn("Token epoch refresh failed, keeping previous table: {}", e.getMessage());
+    }
+  }
+
+  private record Snapshot(long[] ids, int[] epochs) {
+
+    int epochOf(long userId) {
+      int i = Arrays.binarySearch(ids, userId);
+      return i >= 0 ? epochs[i] : 0;
+    }
+  }
+}
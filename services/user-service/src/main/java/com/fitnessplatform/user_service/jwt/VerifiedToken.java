@@ -0,0 +1,20 @@
+package com.fitnessplatform.user_service.jwt;
+
+import java.util.Date;
+
+// Immutable view of a JWT whose signature and expiry have already been checked.
+// Built once by JwtUtil.verify and stored as the authentication principal, so
+// downstream code never has to parse the Authorization header again.
+public record VerifiedToken(String tokenId, Long userId, String email, String type, int epoch, Date expiration) {
+
+  public static final String ACCESS = "access";
+  public static final String REFRESH = "refresh";
+
+  public boolean isRefreshToken() {
+    return REFRESH.equals(type);
+  }
+
+  public boolean isExpired() {
+    return expiration.before(new Date());
+  }
+}
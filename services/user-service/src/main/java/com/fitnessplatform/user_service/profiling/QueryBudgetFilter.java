@@ -0,0 +1,110 @@
+package com.fitnessplatform.user_service.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Counts the SQL statements and round trips each request makes and flags handlers that
+// exceed their query budget or repeat one query (likely N+1). Runs ahead of the security
+// filters so token checks that hit the database are counted too.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+  // Routed to an async appender in logback-spring.xml
+  static final Logger budgetLog = LoggerFactory.getLogger("sql.budget");
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${sql.profiler.enabled:true}")
+  private boolean enabled;
+
+  @Value("${sql.profiler.statement-budget:5}")
+  private int defaultBudget;
+
+  // handler=budget pairs, e.g. changePassword=2 (handler = controller method name)
+  @Value("${sql.profiler.handler-budgets:}")
+  private List<String> handlerBudgetEntries;
+
+  @Value("${sql.profiler.repeated-query-threshold:3}")
+  private int repeatedQueryThreshold;
+
+  private final Map<String, Integer> handlerBudgets = new HashMap<>();
+
+  @PostConstruct
+  void init() {
+    for (String entry : handlerBudgetEntries) {
+      if (entry.isBlank()) continue;
+      String[] parts = entry.split("=");
+      if (parts.length != 2) {
+        throw new IllegalStateException("sql.profiler.handler-budgets entries must be handler=budget, got " + entry);
+      }
+      handlerBudgets.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain chain) throws ServletException, IOException {
+    RequestQueryStats stats = RequestQueryStats.begin();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      RequestQueryStats.end();
+      report(handlerName(request), request, stats);
+    }
+  }
+
+  private void report(String handler, HttpServletRequest request, RequestQueryStats stats) {
+    statementsSummary(handler).record(stats.getStatements());
+
+    int budget = handlerBudgets.getOrDefault(handler, defaultBudget);
+    if (stats.getStatements() > budget) {
+      budgetLog.warn("{} ({} {}) ran {} statements in {} round trips ({} ms), budget {}", handler,
+          request.getMethod(), request.getRequestURI(), stats.getStatements(), stats.getRoundTrips(),
+          stats.getElapsedMs(), budget);
+    }
+    if (stats.getMostRepeatedCount() >= repeatedQueryThreshold) {
+      budgetLog.warn("{} ran the same query {} times (possible N+1): {}", handler,
+          stats.getMostRepeatedCount(), stats.getMostRepeatedSql());
+    }
+  }
+
+  private DistributionSummary statementsSummary(String handler) {
+    return DistributionSummary.builder("sql.statements.per.request")
+        .description("JDBC statements executed while serving one request")
+        .tag("handler", handler)
+        .register(meterRegistry);
+  }
+
+  // Controller method name; requests that never reached a controller share one tag value
+  private static String handlerName(HttpServletRequest request) {
+    Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+    return handler instanceof HandlerMethod method ? method.getMethod().getName() : "unmapped";
+  }
+}
@@ -0,0 +1,64 @@
+package com.fitnessplatform.user_service.profiling;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// SQL issued while serving one HTTP request. Bound to the request thread by
+// QueryBudgetFilter; JDBC work outside a request (scheduled jobs) is not attributed.
+public final class RequestQueryStats {
+
+  private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+  private int statements;  // batched statements count individually
+  private int roundTrips;  // one per execute / executeBatch call
+  private long elapsedMs;
+  private final Map<String, Integer> executionsBySql = new HashMap<>();
+  private String mostRepeatedSql;
+  private int mostRepeatedCount;
+
+  static RequestQueryStats begin() {
+    RequestQueryStats stats = new RequestQueryStats();
+    CURRENT.set(stats);
+    return stats;
+  }
+
+  static void end() {
+    CURRENT.remove();
+  }
+
+  static RequestQueryStats current() {
+    return CURRENT.get();
+  }
+
+  void record(String sql, int statementCount, long elapsedMs) {
+    statements += statementCount;
+    roundTrips++;
+    this.elapsedMs += elapsedMs;
+    // The same prepared SQL run again and again in one request is the N+1 signature
+    int count = executionsBySql.merge(sql, 1, Integer::sum);
+    if (count > mostRepeatedCount) {
+      mostRepeatedCount = count;
+      mostRepeatedSql = sql;
+    }
+  }
+
+  public int getStatements() {
+    return statements;
+  }
+
+  public int getRoundTrips() {
+    return roundTrips;
+  }
+
+  public long getElapsedMs() {
+    return elapsedMs;
+  }
+
+  public String getMostRepeatedSql() {
+    return mostRepeatedSql;
+  }
+
+  public int getMostRepeatedCount() {
+    return mostRepeatedCount;
+  }
+}
@@ -0,0 +1,74 @@
+package com.fitnessplatform.user_service.profiling;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Attributes every JDBC execution to the current request and writes a sampled slow-query
+// log. Only the SQL text (with ? placeholders) and the JDBC setter used for each bind
+// parameter are logged - never parameter values, which carry emails and password hashes.
+@Component
+public class SqlProfilingListener implements QueryExecutionListener {
+
+  // Routed to an async appender in logback-spring.xml
+  static final Logger slowQueryLog = LoggerFactory.getLogger("sql.slow");
+
+  @Value("${sql.profiler.slow-query-ms:200}")
+  private long slowQueryMs;
+
+  @Value("${sql.profiler.slow-query-sample-rate:1.0}")
+  private double slowQuerySampleRate;
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    String sql = queryInfoList.size() == 1 ? queryInfoList.get(0).getQuery() : joinSql(queryInfoList);
+    long elapsedMs = execInfo.getElapsedTime();
+
+    RequestQueryStats stats = RequestQueryStats.current();
+    if (stats != null) {
+      stats.record(sql, statementCount(execInfo, queryInfoList), elapsedMs);
+    }
+
+    if (elapsedMs >= slowQueryMs && slowQueryLog.isWarnEnabled()
+        && ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate) {
+      slowQueryLog.warn("{} ms, {} statement(s), success={}: {} params={}", elapsedMs,
+          statementCount(execInfo, queryInfoList), execInfo.isSuccess(), sql, parameterShapes(queryInfoList));
+    }
+  }
+
+  private static int statementCount(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    return execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), 1) : queryInfoList.size();
+  }
+
+  private static String joinSql(List<QueryInfo> queryInfoList) {
+    StringJoiner joiner = new StringJoiner("; ");
+    queryInfoList.forEach(query -> joiner.add(query.getQuery()));
+    return joiner.toString();
+  }
+
+  // e.g. [Long, String, Null] for setLong/setString/setNull on the first parameter set
+  static String parameterShapes(List<QueryInfo> queryInfoList) {
+    StringJoiner joiner = new StringJoiner(", ", "[", "]");
+    for (QueryInfo query : queryInfoList) {
+      if (query.getParametersList().isEmpty()) continue;
+      for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+        String setter = operation.getMethod().getName();
+        joiner.add(setter.startsWith("set") ? setter.substring(3) : setter);
+      }
+    }
+    return joiner.toString();
+  }
+}
@@ -0,0 +1,27 @@
+package com.fitnessplatform.user_service.revocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// In-process backend for tests and single-instance deployments
+@Component
+@ConditionalOnProperty(name = "revocation.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRevocationBackend implements RevocationBackend {
+
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(String tokenId, long expiresAtMillis) {
+    for (Listener listener : listeners) {
+      listener.onRevoked(tokenId, expiresAtMillis);
+    }
+  }
+
+  @Override
+  public void subscribe(Listener listener) {
+    listeners.add(listener);
+  }
+}
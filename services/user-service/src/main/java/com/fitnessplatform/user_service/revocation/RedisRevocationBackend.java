@@ -0,0 +1,85 @@
+package com.fitnessplatform.user_service.revocation;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Redis backend: each revocation is stored as a key that expires with the token (so
+// instances starting later can load the live set) and announced on a pub/sub channel.
+@Component
+@ConditionalOnProperty(name = "revocation.backend", havingValue = "redis")
+public class RedisRevocationBackend implements RevocationBackend {
+
+  private static final Logger log = LoggerFactory.getLogger(RedisRevocationBackend.class);
+
+  private static final String KEY_PREFIX = "revoked-token:";
+  private static final String CHANNEL = "token-revocations";
+
+  @Autowired
+  private StringRedisTemplate redisTemplate;
+
+  @Autowired
+  private RedisConnectionFactory connectionFactory;
+
+  private RedisMessageListenerContainer container;
+
+  @Override
+  public void publish(String tokenId, long expiresAtMillis) {
+    long ttl = expiresAtMillis - System.currentTimeMillis();
+    if (ttl <= 0) {
+      return;
+    }
+    redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, Long.toString(expiresAtMillis), Duration.ofMillis(ttl));
+    redisTemplate.convertAndSend(CHANNEL, tokenId + " " + expiresAtMillis);
+  }
+
+  @Override
+  public void subscribe(Listener listener) {
+    if (container == null) {
+      container = new RedisMessageListenerContainer();
+      container.setConnectionFactory(connectionFactory);
+      container.afterPropertiesSet();
+      container.start();
+    }
+    container.addMessageListener((message, pattern) -> {
+      String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+      if (parts.length == 2) {
+        listener.onRevoked(parts[0], Long.parseLong(parts[1]));
+      }
+    }, new ChannelTopic(CHANNEL));
+
+    // Load revocations published before this instance started
+    ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+    try (Cursor<String> keys = redisTemplate.scan(options)) {
+      while (keys.hasNext()) {
+        String key = keys.next();
+        Long ttl = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+        if (ttl != null && ttl > 0) {
+          listener.onRevoked(key.substring(KEY_PREFIX.length()), System.currentTimeMillis() + ttl);
+        }
+      }
+    } catch (Exception e) {
+      log.warn("Could not load existing token revocations from Redis: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() throws Exception {
+    if (container != null) {
+      container.destroy();
+    }
+  }
+}
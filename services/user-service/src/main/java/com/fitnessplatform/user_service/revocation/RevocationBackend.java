@@ -0,0 +1,17 @@
+package com.fitnessplatform.user_service.revocation;
+
+// Shared channel that spreads revocations across service instances.
+// Every instance publishes its own revocations and receives everyone's (including its own).
+public interface RevocationBackend {
+
+  // Announce that a token is revoked until it expires
+  void publish(String tokenId, long expiresAtMillis);
+
+  // Receive revocations, including any still-live ones known before subscribing
+  void subscribe(Listener listener);
+
+  @FunctionalInterface
+  interface Listener {
+    void onRevoked(String tokenId, long expiresAtMillis);
+  }
+}
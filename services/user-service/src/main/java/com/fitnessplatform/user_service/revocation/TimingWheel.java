@@ -0,0 +1,115 @@
+package com.fitnessplatform.user_service.revocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel: four levels of 64 slots, each level 64x coarser than the
+// one below. Scheduling and expiring are O(1) per entry; entries in coarse levels are
+// cascaded down as time reaches their slot. With a 1s tick the wheel spans ~194 days.
+class TimingWheel<T> {
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS - 1;
+  private static final int LEVELS = 4;
+
+  private final long tickMillis;
+  private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private long currentTick;
+  private int size;
+
+  TimingWheel(long tickMillis, long startMillis) {
+    this.tickMillis = tickMillis;
+    this.currentTick = startMillis / tickMillis;
+    for (int i = 0; i < LEVELS * SLOTS; i++) {
+      slots.add(new ArrayList<>());
+    }
+  }
+
+  // Schedule an item to be expired once time passes the deadline
+  void schedule(T item, long deadlineMillis) {
+    long tick = (deadlineMillis + tickMillis - 1) / tickMillis;
+    lock.lock();
+    try {
+      // The current tick has already been processed, so the earliest slot is the next one
+      place(new Entry<>(item, Math.max(tick, currentTick + 1)));
+      size++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Move time forward, handing every item whose deadline has passed to the consumer
+  void advance(long nowMillis, Consumer<T> onExpire) {
+    long target = nowMillis / tickMillis;
+    lock.lock();
+    try {
+      while (currentTick < target) {
+        currentTick++;
+        // Cascade coarse levels first so their entries can land in the slot processed below
+        for (int level = LEVELS - 1; level > 0; level--) {
+          if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+            List<Entry<T>> slot = slot(level, currentTick);
+            List<Entry<T>> cascading = new ArrayList<>(slot);
+            slot.clear();
+            for (Entry<T> entry : cascading) {
+              place(entry);
+            }
+          }
+        }
+        List<Entry<T>> due = slot(0, currentTick);
+        if (!due.isEmpty()) {
+          for (Entry<T> entry : due) {
+            onExpire.accept(entry.item);
+          }
+          size -= due.size();
+          due.clear();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // An entry belongs to the finest level whose parent period it shares with the current tick
+  private void place(Entry<T> entry) {
+    for (int level = 0; level < LEVELS; level++) {
+      int parentShift = SLOT_BITS * (level + 1);
+      if ((entry.tick >>> parentShift) == (currentTick >>> parentShift)) {
+        slot(level, entry.tick).add(entry);
+        return;
+      }
+    }
+    // Beyond the wheel's range: park in the last top-level slot of this rotation and retry later
+    int topShift = SLOT_BITS * (LEVELS - 1);
+    slot(LEVELS - 1, ((currentTick >>> topShift) + SLOT_MASK) << topShift).add(entry);
+  }
+
+  private List<Entry<T>> slot(int level, long tick) {
+    int index = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    return slots.get(level * SLOTS + index);
+  }
+
+  private static final class Entry<T> {
+    final T item;
+    final long tick;
+
+    Entry(T item, long tick) {
+      this.item = item;
+      this.tick = tick;
+    }
+  }
+}
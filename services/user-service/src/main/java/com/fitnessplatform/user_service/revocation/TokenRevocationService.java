@@ -0,0 +1,81 @@
+package com.fitnessplatform.user_service.revocation;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked token IDs (jti), held in memory until the token would have expired anyway.
+// Lookups are a plain hash-set probe; expiry is driven by a timing wheel so the set
+// only ever contains revoked tokens that are still live. Deleted users travel through
+// the same channel as "user:<id>", revoking every token issued to them.
+@Service
+public class TokenRevocationService {
+
+  private static final long TICK_MILLIS = 1000;
+
+  private static final String USER_PREFIX = "user:";
+
+  @Autowired
+  private RevocationBackend backend;
+
+  private final Set<String> revoked = ConcurrentHashMap.newKeySet();
+  private final Set<Long> revokedUsers = ConcurrentHashMap.newKeySet();
+  private final TimingWheel<String> expiry = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+
+  @PostConstruct
+  void subscribe() {
+    backend.subscribe(this::remember);
+  }
+
+  // Hot path: called for every authenticated request
+  public boolean isRevoked(String tokenId) {
+    return tokenId != null && revoked.contains(tokenId);
+  }
+
+  // Hot path in stateless mode: whether every token of the user is revoked (account deleted)
+  public boolean isUserRevoked(long userId) {
+    return !revokedUsers.isEmpty() && revokedUsers.contains(userId);
+  }
+
+  // Revoke every token issued to the user, up to the longest token lifetime from now
+  public void revokeUser(long userId, long untilMillis) {
+    revoke(USER_PREFIX + userId, untilMillis);
+  }
+
+  // Revoke a token on this instance and tell the others
+  public void revoke(String tokenId, long expiresAtMillis) {
+    if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+      return; // Nothing to revoke: legacy token without an ID, or already expired
+    }
+    remember(tokenId, expiresAtMillis);
+    backend.publish(tokenId, expiresAtMillis);
+  }
+
+  // Number of revoked tokens still being tracked
+  public int size() {
+    return revoked.size();
+  }
+
+  @Scheduled(fixedRate = TICK_MILLIS)
+  public void evictExpired() {
+    expiry.advance(System.currentTimeMillis(), tokenId -> {
+      revoked.remove(tokenId);
+      if (tokenId.startsWith(USER_PREFIX)) {
+        revokedUsers.remove(Long.parseLong(tokenId.substring(USER_PREFIX.length())));
+      }
+    });
+  }
+
+  private void remember(String tokenId, long expiresAtMillis) {
+    if (expiresAtMillis > System.currentTimeMillis() && revoked.add(tokenId)) {
+      if (tokenId.startsWith(USER_PREFIX)) {
+        revokedUsers.add(Long.parseLong(tokenId.substring(USER_PREFIX.length())));
+      }
+      expiry.schedule(tokenId, expiresAtMillis);
+    }
+  }
+}
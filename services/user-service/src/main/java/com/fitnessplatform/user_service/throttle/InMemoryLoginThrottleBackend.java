@@ -0,0 +1,63 @@
+package com.fitnessplatform.user_service.throttle;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-instance buckets: each limit gets its own bounded TokenBucketTable. With N instances
+// behind a load balancer an identity gets up to N times the configured rate.
+@Component
+@ConditionalOnProperty(name = "login-throttle.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginThrottleBackend implements LoginThrottleBackend {
+
+  private static final Logger log = LoggerFactory.getLogger(InMemoryLoginThrottleBackend.class);
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${login-throttle.table-size:65536}")
+  private int tableSize;
+
+  private final Map<String, TokenBucketTable> tables = new ConcurrentHashMap<>();
+
+  // saturated() of each table at the last check
+  private final Map<String, Long> reportedSaturation = new ConcurrentHashMap<>();
+
+  @Override
+  public long tryAcquire(LoginThrottleLimit limit, String key) {
+    return tables.computeIfAbsent(limit.name(), name -> newTable(limit)).tryAcquire(key);
+  }
+
+  // A full table rejects new keys (e.g. during credential stuffing), which legitimate users
+  // feel too: say so loudly, alongside the login.throttle.saturated counter
+  @Scheduled(fixedDelay = 60_000)
+  public void reportSaturation() {
+    tables.forEach((name, table) -> {
+      long total = table.saturated();
+      long previous = reportedSaturation.getOrDefault(name, 0L);
+      if (total > previous) {
+        log.warn("Login throttle table for {} is full: {} attempts rejected for lack of a free bucket in the last "
+            + "minute; consider raising login-throttle.table-size", name, total - previous);
+      }
+      reportedSaturation.put(name, total);
+    });
+  }
+
+  private TokenBucketTable newTable(LoginThrottleLimit limit) {
+    TokenBucketTable table = new TokenBucketTable(tableSize, limit, () -> System.nanoTime() / 1_000_000);
+    FunctionCounter.builder("login.throttle.saturated", table, TokenBucketTable::saturated)
+        .description("Attempts rejected because the bucket table had no free slot for the key")
+        .tag("limit", limit.name())
+        .register(meterRegistry);
+    return table;
+  }
+}
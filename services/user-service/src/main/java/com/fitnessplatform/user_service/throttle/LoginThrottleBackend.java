@@ -0,0 +1,8 @@
+package com.fitnessplatform.user_service.throttle;
+
+// Where login attempt buckets live: in this instance's memory, or shared across instances
+public interface LoginThrottleBackend {
+
+  // 0 if the attempt may proceed, otherwise milliseconds until the next attempt is allowed
+  long tryAcquire(LoginThrottleLimit limit, String key);
+}
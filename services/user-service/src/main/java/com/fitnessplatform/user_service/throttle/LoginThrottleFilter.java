@@ -0,0 +1,211 @@
+package com.fitnessplatform.user_service.throttle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+// Token-bucket limits on POST /api/auth/login per client address and per email, checked
+// before the request reaches the controller: a throttled attempt costs no user lookup and
+// no BCrypt verification. Behind a reverse proxy, set server.forward-headers-strategy so
+// the client address is the real one.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+  static final String LOGIN_PATH = "/api/auth/login";
+  private static final int MAX_BODY_BYTES = 4096; // a login body is two short strings
+
+  @Autowired
+  private LoginThrottleBackend backend;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${login-throttle.enabled:true}")
+  private boolean enabled;
+
+  @Value("${login-throttle.ip.capacity:20}")
+  private int ipCapacity;
+
+  @Value("${login-throttle.ip.refill-seconds:60}")
+  private long ipRefillSeconds;
+
+  @Value("${login-throttle.email.capacity:5}")
+  private int emailCapacity;
+
+  @Value("${login-throttle.email.refill-seconds:60}")
+  private long emailRefillSeconds;
+
+  private LoginThrottleLimit ipLimit;
+  private LoginThrottleLimit emailLimit;
+  private Counter ipRejected;
+  private Counter emailRejected;
+
+  @PostConstruct
+  void init() {
+    ipLimit = new LoginThrottleLimit("ip", ipCapacity, ipRefillSeconds * 1000);
+    emailLimit = new LoginThrottleLimit("email", emailCapacity, emailRefillSeconds * 1000);
+    ipRejected = rejectedCounter("ip");
+    emailRejected = rejectedCounter("email");
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled || !"POST".equals(request.getMethod()) || !(request.getContextPath() + LOGIN_PATH).equals(request.getRequestURI());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain chain) throws ServletException, IOException {
+    long wait = backend.tryAcquire(ipLimit, request.getRemoteAddr());
+    if (wait > 0) {
+      ipRejected.increment();
+      reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many login attempts. Please try again later.");
+      return;
+    }
+
+    byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+    if (body.length > MAX_BODY_BYTES) {
+      reject(response, HttpStatus.PAYLOAD_TOO_LARGE, 0, "Request body too large");
+      return;
+    }
+
+    String email = email(body);
+    if (email != null) {
+      wait = backend.tryAcquire(emailLimit, email);
+      if (wait > 0) {
+        emailRejected.increment();
+        reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many login attempts. Please try again later.");
+        return;
+      }
+    }
+
+    chain.doFilter(new CachedBodyRequest(request, body), response);
+  }
+
+  // Normalized like the lower(email) lookup; malformed bodies are left to request binding
+  private String email(byte[] body) {
+    try {
+      JsonNode email = objectMapper.readTree(body).path("email");
+      return email.isTextual() && !email.asText().isBlank() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private void reject(HttpServletResponse response, HttpStatus status, long waitMillis, String message)
+      throws IOException {
+    response.setStatus(status.value());
+    if (waitMillis > 0) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((waitMillis + 999) / 1000));
+    }
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+  }
+
+  private Counter rejectedCounter(String limit) {
+    return Counter.builder("login.throttle.rejected")
+        .description("Login attempts rejected before authentication")
+        .tag("limit", limit)
+        .register(meterRegistry);
+  }
+
+  // Replays the body already read by the filter to the controller
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public int read() {
+          return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+          return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        // The body is already in memory: report it available, then fully read
+        @Override
+        public void setReadListener(ReadListener listener) {
+          try {
+            if (!isFinished()) {
+              listener.onDataAvailable();
+            }
+            if (isFinished()) {
+              listener.onAllDataRead();
+            }
+          } catch (IOException e) {
+            listener.onError(e);
+          }
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+      return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+          encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int getContentLength() {
+      return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return body.length;
+    }
+  }
+}
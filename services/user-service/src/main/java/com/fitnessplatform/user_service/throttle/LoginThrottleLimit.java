@@ -0,0 +1,15 @@
+package com.fitnessplatform.user_service.throttle;
+
+// A token bucket: up to capacity attempts at once, refilled from empty over refillMillis
+public record LoginThrottleLimit(String name, int capacity, long refillMillis) {
+
+  public LoginThrottleLimit {
+    if (capacity < 1 || capacity > TokenBucketTable.MAX_CAPACITY) {
+      throw new IllegalArgumentException("login-throttle." + name + ".capacity must be between 1 and "
+          + TokenBucketTable.MAX_CAPACITY);
+    }
+    if (refillMillis < TokenBucketTable.TICK_MILLIS) {
+      throw new IllegalArgumentException("login-throttle." + name + ".refill-seconds must be positive");
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.fitnessplatform.user_service.throttle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// Shared buckets so limits hold across instances: one Redis hash per key, refilled and
+// decremented atomically by a script using the Redis server clock. Keys are hashed so
+// emails and addresses are not stored in Redis. If Redis is unreachable attempts are
+// allowed (the hashing pool's queue limit still bounds the damage).
+@Component
+@ConditionalOnProperty(name = "login-throttle.backend", havingValue = "redis")
+public class RedisLoginThrottleBackend implements LoginThrottleBackend {
+
+  private static final Logger log = LoggerFactory.getLogger(RedisLoginThrottleBackend.class);
+
+  private static final String KEY_PREFIX = "login-throttle:";
+
+  // KEYS[1] bucket; ARGV[1] capacity, ARGV[2] refill ms. Returns 0 or ms until the next token.
+  private static final RedisScript<Long> TAKE_TOKEN = new DefaultRedisScript<>("""
+      local capacity = tonumber(ARGV[1])
+      local refill = tonumber(ARGV[2])
+      local time = redis.call('TIME')
+      local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+      local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'at')
+      local tokens = tonumber(bucket[1]) or capacity
+      local at = tonumber(bucket[2]) or now
+      tokens = math.min(capacity, tokens + (now - at) * capacity / refill)
+      if tokens < 1 then
+        return math.ceil((1 - tokens) * refill / capacity)
+      end
+      redis.call('HSET', KEYS[1], 'tokens', tostring(tokens - 1), 'at', tostring(now))
+      redis.call('PEXPIRE', KEYS[1], refill)
+      return 0
+      """, Long.class);
+
+  @Autowired
+  private StringRedisTemplate redisTemplate;
+
+  @Override
+  public long tryAcquire(LoginThrottleLimit limit, String key) {
+    try {
+      Long wait = redisTemplate.execute(TAKE_TOKEN, List.of(KEY_PREFIX + limit.name() + ":" + digest(key)),
+          Integer.toString(limit.capacity()), Long.toString(limit.refillMillis()));
+      return wait != null ? wait : 0;
+    } catch (Exception e) {
+      log.debug("Login throttle check failed, allowing the attempt: {}", e.getMessage());
+      return 0;
+    }
+  }
+
+  private static String digest(String key) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.fitnessplatform.user_service.throttle;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Fixed-size table of token buckets, keyed by string, with no locks and no per-key objects.
+// Each slot is one long: [key fingerprint:16 | tokens in 1/1024ths:20 | last refill tick:28].
+// A key may live in one of two slots; an attempt is one CAS on that slot, and a rejected
+// attempt writes nothing, so a key under attack does not slow down anyone else.
+//
+// The table never grows and needs no sweeper: a bucket that has refilled to capacity is
+// indistinguishable from a new one, so its slot is simply taken over by the next key that
+// hashes there. If both of a key's slots hold buckets that are still draining, the
+// attempt is rejected until the fuller of them has refilled (counted in saturated()):
+// letting it through would switch the limit off for anyone able to crowd the table,
+// and evicting a draining bucket would hand its key a fresh one.
+final class TokenBucketTable {
+
+  static final int MAX_CAPACITY = (1 << 20) / 1024 - 1;
+  static final long TICK_MILLIS = 100;
+
+  private static final long UNIT = 1024; // one token
+  private static final int TICK_BITS = 28;
+  private static final long TICK_MASK = (1L << TICK_BITS) - 1;
+  private static final long TOKEN_MASK = (1L << 20) - 1;
+
+  private final AtomicLongArray slots;
+  private final int mask;
+  private final long capacityUnits;
+  private final long refillTicks;
+  private final long refillMillis;
+  private final LongSupplier clock;
+  private final long seed = new SecureRandom().nextLong(); // keys cannot be chosen to collide
+  private final LongAdder saturated = new LongAdder();
+
+  TokenBucketTable(int size, LoginThrottleLimit limit, LongSupplier clock) {
+    if (Integer.bitCount(size) != 1 || size < 2) {
+      throw new IllegalArgumentException("Table size must be a power of two, got " + size);
+    }
+    this.slots = new AtomicLongArray(size);
+    this.mask = size - 1;
+    this.capacityUnits = limit.capacity() * UNIT;
+    this.refillMillis = limit.refillMillis();
+    this.refillTicks = Math.max(1, limit.refillMillis() / TICK_MILLIS);
+    this.clock = clock;
+  }
+
+  // 0 if the attempt may proceed, otherwise milliseconds until the next token
+  long tryAcquire(String key) {
+    long hash = hash(key);
+    long fingerprint = (hash >>> 48) == 0 ? 1 : hash >>> 48;
+    int first = (int) hash & mask;
+    int second = (int) (hash >>> 24) & mask;
+    if (second == first) {
+      second = first ^ 1;
+    }
+    long now = (clock.getAsLong() / TICK_MILLIS) & TICK_MASK;
+
+    while (true) {
+      int owned = fingerprint(slots.get(first)) == fingerprint ? first
+          : fingerprint(slots.get(second)) == fingerprint ? second : -1;
+      if (owned >= 0) {
+        long result = consume(owned, fingerprint, now);
+        if (result >= 0) {
+          return result;
+        }
+        continue; // Evicted between the read and the CAS; look again
+      }
+
+      boolean raced = false;
+      long fullest = 0;
+      for (int index : new int[] {first, second}) {
+        long slot = slots.get(index);
+        long tokens = slot == 0 ? capacityUnits : tokens(slot, now);
+        if (tokens == capacityUnits) {
+          if (slots.compareAndSet(index, slot, pack(fingerprint, capacityUnits - UNIT, now))) {
+            return 0;
+          }
+          raced = true;
+          break;
+        }
+        fullest = Math.max(fullest, tokens);
+      }
+      if (!raced) {
+        saturated.increment();
+        return Math.max(1, (capacityUnits - fullest) * refillMillis / capacityUnits);
+      }
+    }
+  }
+
+  long saturated() {
+    return saturated.sum();
+  }
+
+  // -1 if the slot no longer belongs to this key
+  private long consume(int index, long fingerprint, long now) {
+    while (true) {
+      long slot = slots.get(index);
+      if (fingerprint(slot) != fingerprint) {
+        return -1;
+      }
+      long tokens = tokens(slot, now);
+      if (tokens < UNIT) {
+        return Math.max(1, (UNIT - tokens) * refillMillis / capacityUnits);
+      }
+      if (slots.compareAndSet(index, slot, pack(fingerprint, tokens - UNIT, now))) {
+        return 0;
+      }
+    }
+  }
+
+  // Tokens in the slot's bucket after refilling it up to now
+  private long tokens(long slot, long now) {
+    long elapsed = (now - (slot & TICK_MASK)) & TICK_MASK;
+    long stored = (slot >>> TICK_BITS) & TOKEN_MASK;
+    if (elapsed >= refillTicks) {
+      return capacityUnits;
+    }
+    return Math.min(capacityUnits, stored + elapsed * capacityUnits / refillTicks);
+  }
+
+  private static long fingerprint(long slot) {
+    return slot >>> 48;
+  }
+
+  private static long pack(long fingerprint, long tokens, long tick) {
+    return (fingerprint << 48) | (tokens << TICK_BITS) | tick;
+  }
+
+  // Seeded FNV-1a over the chars, finished with the murmur3 64-bit mixer
+  private long hash(String key) {
+    long h = seed;
+    for (int i = 0; i < key.length(); i++) {
+      h ^= key.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,12 @@
+package com.fitnessplatform.user_service.user;
+
+import jakarta.validation.constraints.NotBlank;
+
+// Body of PUT /api/users/{userId}/password
+public record ChangePasswordRequest(
+    @NotBlank(message = "Current password and new password are required")
+    String currentPassword,
+
+    @NotBlank(message = "Current password and new password are required")
+    String newPassword) {
+}
@@ -6,6 +6,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.userdetails.User.UserBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -14,6 +15,7 @@ public class CustomUserDetailsService implements UserDetailsService {
   private UserRepository userRepository;
 
   @Override
+  @Transactional(readOnly = true)
   public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
     User user = userRepository.findByEmail(email)
         .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
@@ -21,6 +23,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     UserBuilder builder = org.springframework.security.core.userdetails.User.withUsername(email);
     builder.password(user.getPassword());
     builder.authorities("ROLE_USER"); // You can expand this based on user roles
+    builder.disabled(!Boolean.TRUE.equals(user.getIsActive()));
 
     return builder.build();
   }
@@ -0,0 +1,9 @@
+package com.fitnessplatform.user_service.user;
+
+import jakarta.validation.constraints.NotBlank;
+
+// Body of DELETE /api/users/{userId}
+public record DeleteAccountRequest(
+    @NotBlank(message = "Password is required to delete account")
+    String password) {
+}
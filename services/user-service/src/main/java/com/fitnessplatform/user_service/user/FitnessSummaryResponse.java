@@ -0,0 +1,47 @@
+package com.fitnessplatform.user_service.user;
+
+public record FitnessSummaryResponse(String message, Summary summary) {
+
+  public record Summary(
+      Long userId,
+      String name,
+      int age,
+      double bmi,
+      Double currentWeight,
+      Double targetWeight,
+      Double weightDifference,
+      String bmiCategory,
+      User.FitnessGoal fitnessGoal,
+      User.ActivityLevel activityLevel) {
+  }
+
+  public static FitnessSummaryResponse of(String message, User user) {
+    double bmi = user.getBMI();
+    return new FitnessSummaryResponse(message, new Summary(
+        user.getId(),
+        user.getUsername(),
+        user.getAge(),
+        bmi,
+        user.getCurrentWeightKg(),
+        user.getTargetWeightKg(),
+        weightDifference(user),
+        bmiCategory(bmi),
+        user.getFitnessGoal(),
+        user.getActivityLevel()));
+  }
+
+  private static Double weightDifference(User user) {
+    if (user.getCurrentWeightKg() == null || user.getTargetWeightKg() == null) {
+      return null;
+    }
+    return user.getCurrentWeightKg() - user.getTargetWeightKg();
+  }
+
+  private static String bmiCategory(double bmi) {
+    if (bmi == 0.0) return "Unknown";
+    if (bmi < 18.5) return "Underweight";
+    if (bmi < 25.0) return "Normal weight";
+    if (bmi < 30.0) return "Overweight";
+    return "Obese";
+  }
+}
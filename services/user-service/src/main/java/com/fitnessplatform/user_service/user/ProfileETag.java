@@ -0,0 +1,44 @@
+package com.fitnessplatform.user_service.user;
+
+import java.time.LocalDate;
+
+// Strong validator for profile representations: the row version plus the current year,
+// because the derived age field changes when the year does even if the row does not.
+// Rendered as "<version>-<year>" (quoted in the header).
+public final class ProfileETag {
+
+  private ProfileETag() {}
+
+  public static String of(long version) {
+    return "\"" + version + "-" + LocalDate.now().getYear() + "\"";
+  }
+
+  // If-None-Match: true when any listed tag (or *) matches the current version
+  public static boolean matches(String ifNoneMatch, long version) {
+    String current = of(version);
+    for (String tag : ifNoneMatch.split(",")) {
+      String candidate = tag.trim();
+      if (candidate.equals("*") || candidate.equals(current) || candidate.equals("W/" + current)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Version from an If-Match value such as "3-2026", W/"3-2026" or a bare "3"; null if unparseable
+  public static Long versionOf(String ifMatch) {
+    if (ifMatch == null) return null;
+    String value = ifMatch.trim();
+    if (value.startsWith("W/")) value = value.substring(2);
+    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+      value = value.substring(1, value.length() - 1);
+    }
+    int dash = value.indexOf('-');
+    if (dash >= 0) value = value.substring(0, dash);
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
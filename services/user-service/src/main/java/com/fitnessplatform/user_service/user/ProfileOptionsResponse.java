@@ -0,0 +1,21 @@
+package com.fitnessplatform.user_service.user;
+
+import java.util.List;
+
+public record ProfileOptionsResponse(String message, Options options) {
+
+  public record Options(
+      User.Gender[] genders,
+      User.ActivityLevel[] activityLevels,
+      User.FitnessGoal[] fitnessGoals,
+      List<String> units) {
+  }
+
+  public static ProfileOptionsResponse current() {
+    return new ProfileOptionsResponse("Profile options retrieved successfully", new Options(
+        User.Gender.values(),
+        User.ActivityLevel.values(),
+        User.FitnessGoal.values(),
+        List.of("METRIC", "IMPERIAL")));
+  }
+}
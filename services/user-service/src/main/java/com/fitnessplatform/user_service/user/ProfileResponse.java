@@ -0,0 +1,8 @@
+package com.fitnessplatform.user_service.user;
+
+public record ProfileResponse(String message, UserResponse user) {
+
+  public static ProfileResponse of(String message, User user) {
+    return new ProfileResponse(message, UserResponse.from(user));
+  }
+}
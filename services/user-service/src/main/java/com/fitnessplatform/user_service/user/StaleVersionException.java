@@ -0,0 +1,16 @@
+package com.fitnessplatform.user_service.user;
+
+// The client's expected version no longer matches the stored row (someone else wrote first)
+public class StaleVersionException extends RuntimeException {
+
+  private final long currentVersion;
+
+  public StaleVersionException(long currentVersion) {
+    super("Profile was modified by another request");
+    this.currentVersion = currentVersion;
+  }
+
+  public long getCurrentVersion() {
+    return currentVersion;
+  }
+}
@@ -0,0 +1,29 @@
+package com.fitnessplatform.user_service.user;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+// Body of PUT /api/users/{userId}; absent (null) members are left unchanged
+public record UpdateProfileRequest(
+    @Size(min = 2, max = 100, message = "Username must be between 2 and 100 characters")
+    String name,
+
+    @Positive(message = "Height must be positive")
+    Integer heightCm,
+
+    @Positive(message = "Current weight must be positive")
+    Double currentWeightKg,
+
+    User.Gender gender,
+    User.ActivityLevel activityLevel,
+    User.FitnessGoal fitnessGoal,
+
+    @Positive(message = "Target weight must be positive")
+    Double targetWeightKg,
+
+    @Size(max = 10, message = "Preferred units must not exceed 10 characters")
+    String preferredUnits,
+
+    @Size(max = 50, message = "Timezone must not exceed 50 characters")
+    String timezone) {
+}
@@ -12,10 +12,7 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "users", indexes = {
-    @Index(name = "idx_user_email", columnList = "email", unique = true),
-    @Index(name = "idx_user_created_at", columnList = "created_at")
-})
+@Table(name = "users") // Schema and indexes: Flyway migrations in resources/db/migration
 public class User {
 
   @Id
@@ -78,6 +75,15 @@ public class User {
   @Column(name = "is_active", nullable = false)
   private Boolean isActive = true;
 
+  // Bumped whenever previously issued tokens must stop working
+  @Column(name = "token_epoch", nullable = false, columnDefinition = "integer default 0")
+  private Integer tokenEpoch = 0;
+
+  // Optimistic locking: bumped on every update so concurrent writers are detected
+  @Version
+  @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+  private Long version = 0L;
+
   // Timestamps
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
@@ -182,7 +188,22 @@ public class User {
   public void setIsVerified(Boolean isVerified) { this.isVerified = isVerified; }
 
   public Boolean getIsActive() { return isActive; }
-  public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+  public void setIsActive(Boolean isActive) {
+    if (Boolean.TRUE.equals(this.isActive) && !Boolean.TRUE.equals(isActive)) {
+      bumpTokenEpoch(); // Deactivation invalidates outstanding tokens
+    }
+    this.isActive = isActive;
+  }
+
+  public Integer getTokenEpoch() { return tokenEpoch; }
+  public void setTokenEpoch(Integer tokenEpoch) { this.tokenEpoch = tokenEpoch; }
+
+  public void bumpTokenEpoch() {
+    this.tokenEpoch = tokenEpoch == null ? 1 : tokenEpoch + 1;
+  }
+
+  public Long getVersion() { return version; }
+  public void setVersion(Long version) { this.version = version; }
 
   public LocalDateTime getCreatedAt() { return createdAt; }
   public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
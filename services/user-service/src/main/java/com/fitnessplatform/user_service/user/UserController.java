@@ -1,13 +1,26 @@
 package com.fitnessplatform.user_service.user;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fitnessplatform.user_service.auth.AuthService;
-import com.fitnessplatform.user_service.jwt.JwtUtil;
+import com.fitnessplatform.user_service.auth.PasswordHashingRejectedException;
+import com.fitnessplatform.user_service.config.PrecomputedResponse;
+import com.fitnessplatform.user_service.jwt.TokenEpochTable;
+import com.fitnessplatform.user_service.jwt.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.List;
 
 @RestController
@@ -22,26 +35,80 @@ public class UserController {
   private UserRepository userRepository;
 
   @Autowired
-  private JwtUtil jwtUtil;
+  private TokenEpochTable tokenEpochTable;
+
+  @Autowired
+  private UserListingService userListingService;
+
+  @Autowired
+  private UserProfilePatcher userProfilePatcher;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private PrecomputedResponse profileOptions;
+
+  private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+  // Clients may keep profile responses but must revalidate them with If-None-Match
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+  // Options can change between deploys but never while running; the URL is not
+  // versioned, so "immutable" is bounded by a day rather than a year
+  private static final CacheControl OPTIONS_CACHE = CacheControl.maxAge(Duration.ofDays(1)).cachePublic().immutable();
+
+  @PostConstruct
+  void init() {
+    profileOptions = PrecomputedResponse.of(objectMapper, ProfileOptionsResponse.current(), OPTIONS_CACHE);
+  }
+
+  // List users, newest first, with keyset pagination (admin only)
+  @Transactional(readOnly = true)
+  @GetMapping
+  public ResponseEntity<?> listUsers(@RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "" + UserListingService.DEFAULT_LIMIT) int limit,
+                                     @RequestParam(required = false) Boolean isActive,
+                                     @RequestParam(required = false) Boolean isVerified,
+                                     @RequestParam(required = false) User.ActivityLevel activityLevel,
+                                     @RequestParam(required = false) User.FitnessGoal fitnessGoal) {
+    try {
+      UserListingService.Page page = userListingService.listUsers(
+          new UserListingService.Filter(isActive, isVerified, activityLevel, fitnessGoal), cursor, limit);
+
+      List<UserResponse> users = new ArrayList<>(page.users().size());
+      for (User user : page.users()) {
+        users.add(UserResponse.from(user));
+      }
+      return ResponseEntity.ok(new UserListResponse("Users retrieved successfully", users, page.nextCursor()));
+
+    } catch (Exception e) {
+      return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+  }
 
   // Get user profile by ID
+  @Transactional(readOnly = true)
   @GetMapping("/{userId}")
   public ResponseEntity<?> getUserProfile(@PathVariable Long userId,
-                                          @RequestHeader(value = "Authorization", required = false) String authHeader) {
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          @AuthenticationPrincipal VerifiedToken principal) {
     try {
-      // Optional: Verify user can only access their own profile
-      if (authHeader != null && authHeader.startsWith("Bearer ")) {
-        String token = authHeader.substring(7);
-        Long tokenUserId = jwtUtil.extractUserId(token);
-
-        // Users can only access their own profile (optional security check)
-        if (!tokenUserId.equals(userId)) {
-          return ResponseEntity.status(403).body(Map.of("error", "Access denied: You can only access your own profile"));
-        }
+      // Users can only access their own profile
+      ResponseEntity<?> denied = denyUnlessOwner(principal, userId, "Access denied: You can only access your own profile");
+      if (denied != null) {
+        return denied;
+      }
+
+      ResponseEntity<?> notModified = checkNotModified(userId, ifNoneMatch);
+      if (notModified != null) {
+        return notModified;
       }
 
       User user = authService.getUserProfile(userId);
-      return ResponseEntity.ok(createUserResponse("Profile retrieved successfully", user));
+      return ResponseEntity.ok()
+          .eTag(ProfileETag.of(user.getVersion()))
+          .cacheControl(REVALIDATE)
+          .body(ProfileResponse.of("Profile retrieved successfully", user));
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
@@ -50,74 +117,85 @@ public class UserController {
   // Update user profile
   @PutMapping("/{userId}")
   public ResponseEntity<?> updateUserProfile(@PathVariable Long userId,
-                                             @RequestBody Map<String, Object> request,
-                                             @RequestHeader(value = "Authorization", required = false) String authHeader) {
+                                             @Valid @RequestBody UpdateProfileRequest request,
+                                             @AuthenticationPrincipal VerifiedToken principal) {
     try {
       // Verify user can only update their own profile
-      if (authHeader != null && authHeader.startsWith("Bearer ")) {
-        String token = authHeader.substring(7);
-        Long tokenUserId = jwtUtil.extractUserId(token);
-
-        if (!tokenUserId.equals(userId)) {
-          return ResponseEntity.status(403).body(Map.of("error", "Access denied: You can only update your own profile"));
-        }
+      ResponseEntity<?> denied = denyUnlessOwner(principal, userId, "Access denied: You can only update your own profile");
+      if (denied != null) {
+        return denied;
       }
 
-      String name = (String) request.get("name");
-      Integer heightCm = parseInteger(request.get("heightCm"));
-      Double currentWeightKg = parseDouble(request.get("currentWeightKg"));
-      String gender = (String) request.get("gender");
-      String activityLevel = (String) request.get("activityLevel");
-      String fitnessGoal = (String) request.get("fitnessGoal");
-      Double targetWeightKg = parseDouble(request.get("targetWeightKg"));
-      String preferredUnits = (String) request.get("preferredUnits");
-      String timezone = (String) request.get("timezone");
-
       User user = authService.updateUserProfile(
-          userId, name, heightCm, currentWeightKg, gender,
-          activityLevel, fitnessGoal, targetWeightKg, preferredUnits, timezone
+          userId, request.name(), request.heightCm(), request.currentWeightKg(), request.gender(),
+          request.activityLevel(), request.fitnessGoal(), request.targetWeightKg(),
+          request.preferredUnits(), request.timezone()
       );
 
-      return ResponseEntity.ok(createUserResponse("Profile updated successfully", user));
+      return ResponseEntity.ok(ProfileResponse.of("Profile updated successfully", user));
+
+    } catch (Exception e) {
+      return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+  }
+
+  // Partially update a profile with a JSON Merge Patch (RFC 7396).
+  // If-Match carries the version the client last saw; the new version is returned.
+  @PatchMapping(value = "/{userId}", consumes = MERGE_PATCH_JSON)
+  public ResponseEntity<?> patchUserProfile(@PathVariable Long userId,
+                                            @RequestBody JsonNode patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            @AuthenticationPrincipal VerifiedToken principal) {
+    try {
+      ResponseEntity<?> denied = denyUnlessOwner(principal, userId, "Access denied: You can only update your own profile");
+      if (denied != null) {
+        return denied;
+      }
 
+      Long expectedVersion = ProfileETag.versionOf(ifMatch);
+      if (expectedVersion == null) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+            .body(Map.of("error", "If-Match header with the profile version is required"));
+      }
+
+      long version = userProfilePatcher.patch(userId, expectedVersion, patch);
+      return ResponseEntity.ok()
+          .eTag(ProfileETag.of(version))
+          .body(Map.of("message", "Profile updated successfully", "version", version));
+
+    } catch (StaleVersionException e) {
+      return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+          .eTag(ProfileETag.of(e.getCurrentVersion()))
+          .body(Map.of("error", e.getMessage(), "currentVersion", e.getCurrentVersion()));
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
   }
 
   // Get user's fitness summary
+  @Transactional(readOnly = true)
   @GetMapping("/{userId}/fitness-summary")
   public ResponseEntity<?> getFitnessSummary(@PathVariable Long userId,
-                                             @RequestHeader(value = "Authorization", required = false) String authHeader) {
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @AuthenticationPrincipal VerifiedToken principal) {
     try {
       // Verify user can only access their own data
-      if (authHeader != null && authHeader.startsWith("Bearer ")) {
-        String token = authHeader.substring(7);
-        Long tokenUserId = jwtUtil.extractUserId(token);
+      ResponseEntity<?> denied = denyUnlessOwner(principal, userId, "Access denied");
+      if (denied != null) {
+        return denied;
+      }
 
-        if (!tokenUserId.equals(userId)) {
-          return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-        }
+      ResponseEntity<?> notModified = checkNotModified(userId, ifNoneMatch);
+      if (notModified != null) {
+        return notModified;
       }
 
       User user = authService.getUserProfile(userId);
 
-      Map<String, Object> summary = new HashMap<>();
-      summary.put("userId", user.getId());
-      summary.put("name", user.getUsername());
-      summary.put("age", user.getAge());
-      summary.put("bmi", user.getBMI());
-      summary.put("currentWeight", user.getCurrentWeightKg());
-      summary.put("targetWeight", user.getTargetWeightKg());
-      summary.put("weightDifference", calculateWeightDifference(user));
-      summary.put("bmiCategory", getBMICategory(user.getBMI()));
-      summary.put("fitnessGoal", user.getFitnessGoal());
-      summary.put("activityLevel", user.getActivityLevel());
-
-      return ResponseEntity.ok(Map.of(
-          "message", "Fitness summary retrieved successfully",
-          "summary", summary
-      ));
+      return ResponseEntity.ok()
+          .eTag(ProfileETag.of(user.getVersion()))
+          .cacheControl(REVALIDATE)
+          .body(FitnessSummaryResponse.of("Fitness summary retrieved successfully", user));
 
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -125,56 +203,39 @@ public class UserController {
   }
 
   // Get all available enum options (for mobile app dropdowns) - PUBLIC
+  // Served from bytes prepared at startup, since only a redeploy can change them
   @GetMapping("/options")
-  public ResponseEntity<?> getProfileOptions() {
-    Map<String, Object> options = new HashMap<>();
-
-    options.put("genders", User.Gender.values());
-    options.put("activityLevels", User.ActivityLevel.values());
-    options.put("fitnessGoals", User.FitnessGoal.values());
-    options.put("units", List.of("METRIC", "IMPERIAL"));
-
-    return ResponseEntity.ok(Map.of(
-        "message", "Profile options retrieved successfully",
-        "options", options
-    ));
+  public ResponseEntity<?> getProfileOptions(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return profileOptions.serve(acceptEncoding, ifNoneMatch);
   }
 
   // Change password
   @PutMapping("/{userId}/password")
   public ResponseEntity<?> changePassword(@PathVariable Long userId,
-                                          @RequestBody Map<String, String> request,
-                                          @RequestHeader(value = "Authorization", required = false) String authHeader) {
+                                          @Valid @RequestBody ChangePasswordRequest request,
+                                          @AuthenticationPrincipal VerifiedToken principal) {
     try {
       // Verify user can only change their own password
-      if (authHeader != null && authHeader.startsWith("Bearer ")) {
-        String token = authHeader.substring(7);
-        Long tokenUserId = jwtUtil.extractUserId(token);
-
-        if (!tokenUserId.equals(userId)) {
-          return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-        }
-      }
-
-      String currentPassword = request.get("currentPassword");
-      String newPassword = request.get("newPassword");
-
-      if (currentPassword == null || newPassword == null) {
-        return ResponseEntity.badRequest().body(Map.of("error", "Current password and new password are required"));
+      ResponseEntity<?> denied = denyUnlessOwner(principal, userId, "Access denied");
+      if (denied != null) {
+        return denied;
       }
 
       User user = authService.getUserProfile(userId);
 
       // Verify current password
-      if (!authService.verifyPassword(user.getEmail(), currentPassword)) {
+      if (!authService.verifyPassword(user.getEmail(), request.currentPassword())) {
         return ResponseEntity.badRequest().body(Map.of("error", "Current password is incorrect"));
       }
 
       // Update password
-      authService.updatePassword(userId, newPassword);
+      authService.updatePassword(userId, request.newPassword());
 
       return ResponseEntity.ok(Map.of("message", "Password updated successfully"));
 
+    } catch (PasswordHashingRejectedException e) {
+      throw e; // Answered with 503 by ServiceBusyHandler
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
@@ -183,102 +244,56 @@ public class UserController {
   // Delete user account
   @DeleteMapping("/{userId}")
   public ResponseEntity<?> deleteUser(@PathVariable Long userId,
-                                      @RequestBody Map<String, String> request,
-                                      @RequestHeader(value = "Authorization", required = false) String authHeader) {
+                                      @Valid @RequestBody DeleteAccountRequest request,
+                                      @AuthenticationPrincipal VerifiedToken principal) {
     try {
       // Verify user can only delete their own account
-      if (authHeader != null && authHeader.startsWith("Bearer ")) {
-        String token = authHeader.substring(7);
-        Long tokenUserId = jwtUtil.extractUserId(token);
-
-        if (!tokenUserId.equals(userId)) {
-          return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-        }
-      }
-
-      String password = request.get("password");
-
-      if (password == null) {
-        return ResponseEntity.badRequest().body(Map.of("error", "Password is required to delete account"));
+      ResponseEntity<?> denied = denyUnlessOwner(principal, userId, "Access denied");
+      if (denied != null) {
+        return denied;
       }
 
       User user = authService.getUserProfile(userId);
 
       // Verify password before deletion
-      if (!authService.verifyPassword(user.getEmail(), password)) {
+      if (!authService.verifyPassword(user.getEmail(), request.password())) {
         return ResponseEntity.badRequest().body(Map.of("error", "Incorrect password"));
       }
 
       userRepository.deleteById(userId);
+      tokenEpochTable.revokeAll(userId);
 
       return ResponseEntity.ok(Map.of("message", "Account deleted successfully"));
 
+    } catch (PasswordHashingRejectedException e) {
+      throw e; // Answered with 503 by ServiceBusyHandler
     } catch (Exception e) {
       return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
   }
 
-  // Helper method to create consistent user response
-  private Map<String, Object> createUserResponse(String message, User user) {
-    Map<String, Object> response = new HashMap<>();
-    response.put("message", message);
-
-    Map<String, Object> userMap = new HashMap<>();
-    userMap.put("id", user.getId());
-    userMap.put("name", user.getUsername());
-    userMap.put("email", user.getEmail());
-    userMap.put("dateOfBirth", user.getDateOfBirth() != null ? user.getDateOfBirth().toString() : null);
-    userMap.put("heightCm", user.getHeightCm());
-    userMap.put("currentWeightKg", user.getCurrentWeightKg());
-    userMap.put("gender", user.getGender() != null ? user.getGender().toString() : null);
-    userMap.put("activityLevel", user.getActivityLevel() != null ? user.getActivityLevel().toString() : null);
-    userMap.put("fitnessGoal", user.getFitnessGoal() != null ? user.getFitnessGoal().toString() : null);
-    userMap.put("targetWeightKg", user.getTargetWeightKg());
-    userMap.put("preferredUnits", user.getPreferredUnits());
-    userMap.put("timezone", user.getTimezone());
-    userMap.put("age", user.getAge());
-    userMap.put("bmi", user.getBMI());
-    userMap.put("createdAt", user.getCreatedAt());
-    userMap.put("updatedAt", user.getUpdatedAt());
-
-    response.put("user", userMap);
-    return response;
-  }
-
-  // Helper methods
-  private Integer parseInteger(Object value) {
-    if (value == null) return null;
-    if (value instanceof Integer) return (Integer) value;
-    if (value instanceof String) {
-      String str = (String) value;
-      return str.trim().isEmpty() ? null : Integer.parseInt(str);
+  // Only the token's own user may touch a profile; no verified token means no access
+  private ResponseEntity<?> denyUnlessOwner(VerifiedToken principal, Long userId, String message) {
+    if (principal == null || principal.userId() == null) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Authentication required"));
     }
-    return null;
-  }
-
-  private Double parseDouble(Object value) {
-    if (value == null) return null;
-    if (value instanceof Double) return (Double) value;
-    if (value instanceof Integer) return ((Integer) value).doubleValue();
-    if (value instanceof String) {
-      String str = (String) value;
-      return str.trim().isEmpty() ? null : Double.parseDouble(str);
+    if (!principal.userId().equals(userId)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", message));
     }
     return null;
   }
 
-  private Double calculateWeightDifference(User user) {
-    if (user.getCurrentWeightKg() == null || user.getTargetWeightKg() == null) {
+  // Conditional GET: decide 304 from the version column alone, without loading the row
+  private ResponseEntity<?> checkNotModified(Long userId, String ifNoneMatch) {
+    if (ifNoneMatch == null) {
       return null;
     }
-    return user.getCurrentWeightKg() - user.getTargetWeightKg();
-  }
-
-  private String getBMICategory(double bmi) {
-    if (bmi == 0.0) return "Unknown";
-    if (bmi < 18.5) return "Underweight";
-    if (bmi < 25.0) return "Normal weight";
-    if (bmi < 30.0) return "Overweight";
-    return "Obese";
+    return userRepository.findVersionById(userId)
+        .filter(version -> ProfileETag.matches(ifNoneMatch, version))
+        .<ResponseEntity<?>>map(version -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(ProfileETag.of(version))
+            .cacheControl(REVALIDATE)
+            .build())
+        .orElse(null);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.fitnessplatform.user_service.user;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record UserListResponse(String message, List<UserResponse> users, String nextCursor) {
+}
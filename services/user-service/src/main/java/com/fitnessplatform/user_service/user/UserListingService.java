@@ -0,0 +1,94 @@
+package com.fitnessplatform.user_service.user;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Keyset pagination over users, newest first, walking idx_user_created_at (created_at, id).
+// The cursor is the (createdAt, id) of the last row returned, so fetching page N costs
+// the same as page 1; no OFFSET rows are scanned and thrown away.
+@Service
+public class UserListingService {
+
+  public static final int DEFAULT_LIMIT = 50;
+  public static final int MAX_LIMIT = 200;
+
+  private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+  @Autowired
+  private UserRepository userRepository;
+
+  public record Filter(Boolean isActive, Boolean isVerified,
+                       User.ActivityLevel activityLevel, User.FitnessGoal fitnessGoal) {
+  }
+
+  public record Page(List<User> users, String nextCursor) {
+  }
+
+  public Page listUsers(Filter filter, String cursor, int limit) {
+    int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+    Specification<User> spec = matching(filter, cursor != null ? decodeCursor(cursor) : null);
+
+    // Fetch one extra row to learn whether another page exists
+    List<User> rows = userRepository.findBy(spec, query -> query.sortBy(NEWEST_FIRST).limit(pageSize + 1).all());
+    if (rows.size() <= pageSize) {
+      return new Page(rows, null);
+    }
+    List<User> page = rows.subList(0, pageSize);
+    return new Page(page, encodeCursor(page.get(pageSize - 1)));
+  }
+
+  private Specification<User> matching(Filter filter, Position after) {
+    return (root, query, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      if (after != null) {
+        // created_at <= c AND (created_at < c OR id < i): the first term bounds the index range scan
+        predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), after.createdAt()));
+        predicates.add(cb.or(
+            cb.lessThan(root.get("createdAt"), after.createdAt()),
+            cb.lessThan(root.get("id"), after.id())));
+      }
+      if (filter.isActive() != null) {
+        predicates.add(cb.equal(root.get("isActive"), filter.isActive()));
+      }
+      if (filter.isVerified() != null) {
+        predicates.add(cb.equal(root.get("isVerified"), filter.isVerified()));
+      }
+      if (filter.activityLevel() != null) {
+        predicates.add(cb.equal(root.get("activityLevel"), filter.activityLevel()));
+      }
+      if (filter.fitnessGoal() != null) {
+        predicates.add(cb.equal(root.get("fitnessGoal"), filter.fitnessGoal()));
+      }
+      return cb.and(predicates.toArray(new Predicate[0]));
+    };
+  }
+
+  private record Position(LocalDateTime createdAt, long id) {
+  }
+
+  private String encodeCursor(User last) {
+    String position = last.getCreatedAt() + "|" + last.getId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Position decodeCursor(String cursor) {
+    try {
+      String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = position.indexOf('|');
+      return new Position(LocalDateTime.parse(position.substring(0, separator)),
+          Long.parseLong(position.substring(separator + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+      throw new RuntimeException("Invalid cursor");
+    }
+  }
+}
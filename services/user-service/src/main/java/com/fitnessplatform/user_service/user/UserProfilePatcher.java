@@ -0,0 +1,150 @@
+package com.fitnessplatform.user_service.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Applies RFC 7396 JSON Merge Patch documents to a user profile. Only the members
+// present in the patch are written, in a single UPDATE guarded by the row version,
+// so a weight change costs one statement instead of a read plus a full-row write.
+@Service
+public class UserProfilePatcher {
+
+  @Autowired
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  // Apply the patch if the row is still at expectedVersion; returns the new version
+  public long patch(Long userId, long expectedVersion, JsonNode patch) {
+    if (patch == null || !patch.isObject()) {
+      throw new RuntimeException("Merge patch must be a JSON object");
+    }
+
+    MapSqlParameterSource params = new MapSqlParameterSource()
+        .addValue("id", userId)
+        .addValue("version", expectedVersion)
+        .addValue("now", LocalDateTime.now());
+    StringJoiner assignments = new StringJoiner(", ");
+
+    Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+    while (members.hasNext()) {
+      Map.Entry<String, JsonNode> member = members.next();
+      String column = column(member.getKey());
+      // null removes the value (RFC 7396); column names come from the whitelist above
+      params.addValue(column, value(member.getKey(), member.getValue()));
+      assignments.add(column + " = :" + column);
+    }
+
+    if (assignments.length() == 0) {
+      // Empty patch changes nothing, but the precondition still applies
+      long current = currentVersion(userId);
+      if (current != expectedVersion) {
+        throw new StaleVersionException(current);
+      }
+      return current;
+    }
+
+    String sql = "UPDATE users SET " + assignments + ", version = version + 1, updated_at = :now"
+        + " WHERE id = :id AND version = :version";
+    if (jdbcTemplate.update(sql, params) == 0) {
+      // Only the failure path pays for a second query, to tell "missing" from "stale"
+      throw new StaleVersionException(currentVersion(userId));
+    }
+    return expectedVersion + 1;
+  }
+
+  private long currentVersion(Long userId) {
+    try {
+      Long version = jdbcTemplate.queryForObject("SELECT version FROM users WHERE id = :id",
+          Map.of("id", userId), Long.class);
+      return version != null ? version : 0L;
+    } catch (EmptyResultDataAccessException e) {
+      throw new RuntimeException("User not found");
+    }
+  }
+
+  // Patchable members and their columns (same fields as the PUT endpoint)
+  private String column(String member) {
+    switch (member) {
+      case "name": return "username";
+      case "heightCm": return "height_cm";
+      case "currentWeightKg": return "current_weight_kg";
+      case "gender": return "gender";
+      case "activityLevel": return "activity_level";
+      case "fitnessGoal": return "fitness_goal";
+      case "targetWeightKg": return "target_weight_kg";
+      case "preferredUnits": return "preferred_units";
+      case "timezone": return "timezone";
+      default: throw new RuntimeException("Field cannot be patched: " + member);
+    }
+  }
+
+  // Validate a member value against the same rules as the entity
+  private Object value(String member, JsonNode node) {
+    if (node.isNull()) {
+      if (member.equals("name")) {
+        throw new RuntimeException("name cannot be removed");
+      }
+      return null;
+    }
+    switch (member) {
+      case "name": {
+        String name = text(member, node).trim();
+        if (name.length() < 2 || name.length() > 100) {
+          throw new RuntimeException("Username must be between 2 and 100 characters");
+        }
+        return name;
+      }
+      case "heightCm": {
+        // isIntegralNumber, not canConvertToInt, which accepts 175.9 and truncates it
+        if (!node.isIntegralNumber() || !node.canConvertToInt() || node.asInt() <= 0) {
+          throw new RuntimeException("heightCm must be a positive integer");
+        }
+        return node.asInt();
+      }
+      case "currentWeightKg":
+      case "targetWeightKg": {
+        if (!node.isNumber() || node.asDouble() <= 0) {
+          throw new RuntimeException(member + " must be a positive number");
+        }
+        return node.asDouble();
+      }
+      case "gender": return parseEnum(User.Gender.class, member, node).name();
+      case "activityLevel": return parseEnum(User.ActivityLevel.class, member, node).name();
+      case "fitnessGoal": return parseEnum(User.FitnessGoal.class, member, node).name();
+      case "preferredUnits": return limit(member, text(member, node), 10);
+      case "timezone": return limit(member, text(member, node), 50);
+      default: throw new RuntimeException("Field cannot be patched: " + member);
+    }
+  }
+
+  private String text(String member, JsonNode node) {
+    if (!node.isTextual()) {
+      throw new RuntimeException(member + " must be a string");
+    }
+    return node.asText();
+  }
+
+  private String limit(String member, String value, int max) {
+    if (value.length() > max) {
+      throw new RuntimeException(member + " must not exceed " + max + " characters");
+    }
+    return value;
+  }
+
+  private <E extends Enum<E>> E parseEnum(Class<E> type, String member, JsonNode node) {
+    String value = text(member, node);
+    try {
+      return Enum.valueOf(type, value.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new RuntimeException("Invalid " + member + " value: " + value);
+    }
+  }
+}
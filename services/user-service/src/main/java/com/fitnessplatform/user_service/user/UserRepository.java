@@ -1,15 +1,33 @@
 package com.fitnessplatform.user_service.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
-  // Find user by email (for login)
-  Optional<User> findByEmail(String email);
+  // Find user by email (for login), ignoring case; served by the lower(email) unique index
+  @Query("select u from User u where lower(u.email) = lower(:email)")
+  Optional<User> findByEmail(@Param("email") String email);
 
-  // Check if email already exists (for registration)
-  boolean existsByEmail(String email);
+  // Validator-only lookup for conditional GETs
+  @Query("select u.version from User u where u.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  // Users whose tokens may have been invalidated (for the token epoch table): [id, tokenEpoch, isActive]
+  @Query("select u.id, u.tokenEpoch, u.isActive from User u where u.tokenEpoch > 0 or u.isActive = false order by u.id")
+  List<Object[]> findTokenEpochs();
+
+  // Replace a password hash only if it has not changed since it was read (used for rehashing)
+  @Modifying
+  @Transactional
+  @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+  int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
\ No newline at end of file
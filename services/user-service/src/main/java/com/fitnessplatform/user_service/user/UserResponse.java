@@ -0,0 +1,50 @@
+package com.fitnessplatform.user_service.user;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Public view of a user, shared by every endpoint that returns a profile.
+// "name" and "username" carry the same value: auth responses historically used
+// "username" and profile responses "name", and clients read both.
+public record UserResponse(
+    Long id,
+    String name,
+    String username,
+    String email,
+    LocalDate dateOfBirth,
+    Integer heightCm,
+    Double currentWeightKg,
+    User.Gender gender,
+    User.ActivityLevel activityLevel,
+    User.FitnessGoal fitnessGoal,
+    Double targetWeightKg,
+    String preferredUnits,
+    String timezone,
+    int age,
+    double bmi,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    Long version) {
+
+  public static UserResponse from(User user) {
+    return new UserResponse(
+        user.getId(),
+        user.getUsername(),
+        user.getUsername(),
+        user.getEmail(),
+        user.getDateOfBirth(),
+        user.getHeightCm(),
+        user.getCurrentWeightKg(),
+        user.getGender(),
+        user.getActivityLevel(),
+        user.getFitnessGoal(),
+        user.getTargetWeightKg(),
+        user.getPreferredUnits(),
+        user.getTimezone(),
+        user.getAge(),
+        user.getBMI(),
+        user.getCreatedAt(),
+        user.getUpdatedAt(),
+        user.getVersion());
+  }
+}
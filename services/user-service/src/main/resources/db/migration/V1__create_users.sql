@@ -0,0 +1,43 @@
+-- users as previously created by spring.jpa.hibernate.ddl-auto=update. Existing databases
+-- are baselined below this version (spring.flyway.baseline-on-migrate) and run this script
+-- too, so every statement must also bring a schema left by the old entity up to date.
+CREATE TABLE IF NOT EXISTS users (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username          VARCHAR(100) NOT NULL,
+    email             VARCHAR(150) NOT NULL,
+    password          VARCHAR(255) NOT NULL,
+    date_of_birth     DATE,
+    height_cm         INTEGER,
+    current_weight_kg DOUBLE PRECISION,
+    gender            VARCHAR(20),
+    activity_level    VARCHAR(20),
+    fitness_goal      VARCHAR(30),
+    target_weight_kg  DOUBLE PRECISION,
+    preferred_units   VARCHAR(10),
+    timezone          VARCHAR(50),
+    is_verified       BOOLEAN NOT NULL,
+    is_active         BOOLEAN NOT NULL,
+    token_epoch       INTEGER NOT NULL DEFAULT 0,
+    version           BIGINT NOT NULL DEFAULT 0,
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL
+);
+
+-- Columns the old entity did not have
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_epoch INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- On old databases this already exists, as a unique constraint of the same name
+CREATE UNIQUE INDEX IF NOT EXISTS idx_user_email ON users (email);
+
+-- Keyset pagination order for the admin user listing. The old entity indexed created_at
+-- alone under this name; rebuild that one (a blocking build, once, on old databases)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_indexes
+               WHERE tablename = 'users' AND indexname = 'idx_user_created_at'
+                 AND indexdef NOT LIKE '%(created_at, id)') THEN
+        DROP INDEX idx_user_created_at;
+    END IF;
+END $$;
+CREATE INDEX IF NOT EXISTS idx_user_created_at ON users (created_at, id);
@@ -0,0 +1,17 @@
+-- Indexes for the hot lookups. CONCURRENTLY keeps the table writable while they build
+-- (Flyway runs this script outside a transaction, see spring.flyway.mixed). If a build
+-- fails it leaves an INVALID index behind: drop it and rerun the migration.
+
+-- Login and token checks (UserRepository.findByEmail) match lower(email) = lower(?).
+-- Unique, so addresses differing only in case cannot register twice; this fails on
+-- existing case-variant duplicates, which must be merged first.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_user_email_lower ON users (lower(email));
+
+-- Superseded by idx_user_email_lower; one less index to maintain on every insert. Databases
+-- created by the old entity have it as a unique constraint, which DROP INDEX cannot remove
+ALTER TABLE users DROP CONSTRAINT IF EXISTS idx_user_email;
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_email;
+
+-- Token epoch table reload (UserRepository.findTokenEpochs) reads only these few rows
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_token_state ON users (id)
+    WHERE token_epoch > 0 OR is_active = false;
@@ -3,7 +3,7 @@ package com.fitnessplatform.user_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "jwt.keys.allow-ephemeral=true")
 class UserServiceApplicationTests {
 
 	@Test
@@ -0,0 +1,43 @@
+package com.fitnessplatform.user_service.admin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminApiKeyFilterTest {
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void grantsAdminOnAdminEndpointsAndTheUserListing() throws Exception {
+    assertTrue(isAdmin("POST", "/api/admin/users/import"));
+    assertTrue(isAdmin("GET", "/api/users"));
+  }
+
+  @Test
+  void ignoresTheKeyOnPerUserEndpoints() throws Exception {
+    assertFalse(isAdmin("PUT", "/api/users/7"));
+    assertFalse(isAdmin("DELETE", "/api/users/7"));
+    assertFalse(isAdmin("GET", "/api/users/7/fitness-summary"));
+  }
+
+  private boolean isAdmin(String method, String path) throws Exception {
+    SecurityContextHolder.clearContext();
+    AdminApiKeyFilter filter = new AdminApiKeyFilter();
+    ReflectionTestUtils.setField(filter, "apiKey", "secret");
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    request.addHeader(AdminApiKeyFilter.HEADER, "secret");
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    return SecurityContextHolder.getContext().getAuthentication() != null;
+  }
+}
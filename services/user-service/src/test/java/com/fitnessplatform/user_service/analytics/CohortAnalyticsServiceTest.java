@@ -0,0 +1,84 @@
+package com.fitnessplatform.user_service.analytics;
+
+import com.fitnessplatform.user_service.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CohortAnalyticsServiceTest {
+
+  private final CohortAnalyticsService service = new CohortAnalyticsService();
+
+  @BeforeEach
+  void setUp() {
+    service.init();
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void groupsBmiByGenderWithUnknownCohort() {
+    int year = LocalDate.now().getYear();
+    ProfileColumns.Builder builder = new ProfileColumns.Builder(4);
+    builder.add(200, 80f, 70f, year - 30, User.Gender.MALE.ordinal(), -1, -1);   // BMI 20
+    builder.add(200, 120f, 90f, year - 70, User.Gender.MALE.ordinal(), -1, -1);  // BMI 30
+    builder.add(100, 25f, Float.NaN, 0, -1, -1, -1);                              // BMI 25, no gender
+    builder.add(0, 60f, 55f, year - 20, User.Gender.FEMALE.ordinal(), -1, -1);   // no height: no BMI
+    service.replaceSnapshot(builder.build(Instant.now()));
+
+    CohortReport report = service.query(new CohortQuery(CohortQuery.Dimension.GENDER, CohortQuery.Metric.BMI, 10, 50, 4));
+
+    assertEquals(4, report.population());
+    assertEquals(2, report.cohorts().size());
+    CohortReport.Cohort male = report.cohorts().get(0);
+    assertEquals("MALE", male.key());
+    assertEquals(2, male.count());
+    assertEquals(25.0, male.mean(), 1e-9);
+    assertArrayEquals(new long[] {0, 1, 1, 0}, male.histogram()); // [20,30) and [30,40)
+    assertEquals("UNKNOWN", report.cohorts().get(1).key());
+  }
+
+  @Test
+  void bandsWeightGapByAge() {
+    int year = LocalDate.now().getYear();
+    ProfileColumns.Builder builder = new ProfileColumns.Builder(3);
+    builder.add(180, 90f, 80f, year - 18, -1, -1, -1);
+    builder.add(180, 70f, 75f, year - 64, -1, -1, -1);
+    builder.add(180, 70f, 75f, year - 65, -1, -1, -1);
+    service.replaceSnapshot(builder.build(Instant.now()));
+
+    CohortReport report = service.query(new CohortQuery(CohortQuery.Dimension.AGE_BAND, CohortQuery.Metric.WEIGHT_GAP, -50, 50, 10));
+
+    assertEquals(Arrays.asList("18_24", "55_64", "65_PLUS"),
+        report.cohorts().stream().map(CohortReport.Cohort::key).toList());
+    assertEquals(10.0, report.cohorts().get(0).mean(), 1e-6);
+    assertEquals(-5.0, report.cohorts().get(1).max(), 1e-6);
+  }
+
+  @Test
+  void staysUnloadedUntilASnapshotLoads() throws Exception {
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+    ReflectionTestUtils.setField(service, "dataSource", dataSource);
+    CohortQuery query = new CohortQuery(CohortQuery.Dimension.GENDER, CohortQuery.Metric.BMI, 10, 50, 4);
+
+    // No empty report from a failed first load, and the next query tries again
+    assertThrows(SnapshotUnavailableException.class, () -> service.query(query));
+    assertThrows(SnapshotUnavailableException.class, () -> service.query(query));
+    verify(dataSource, times(2)).getConnection();
+  }
+}
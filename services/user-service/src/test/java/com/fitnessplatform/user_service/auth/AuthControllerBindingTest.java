@@ -0,0 +1,98 @@
+package com.fitnessplatform.user_service.auth;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessplatform.user_service.config.RequestBindingHandler;
+import com.fitnessplatform.user_service.jwt.JwtUtil;
+import com.fitnessplatform.user_service.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerBindingTest {
+
+  private AuthService authService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    authService = mock(AuthService.class);
+    JwtUtil jwtUtil = mock(JwtUtil.class);
+    when(jwtUtil.generateToken(any())).thenReturn("access");
+    when(jwtUtil.generateRefreshToken(any())).thenReturn("refresh");
+
+    AuthController controller = new AuthController();
+    ReflectionTestUtils.setField(controller, "authService", authService);
+    ReflectionTestUtils.setField(controller, "jwtUtil", jwtUtil);
+
+    // Same Jackson settings as application.yml
+    ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToEnable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS,
+            DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
+        .build();
+    mockMvc = MockMvcBuilders.standaloneSetup(controller)
+        .setControllerAdvice(new RequestBindingHandler())
+        .setMessageConverters(new MappingJackson2HttpMessageConverter(mapper))
+        .build();
+  }
+
+  @Test
+  void bindsTypedFullRegistration() throws Exception {
+    User user = new User("alice", "alice@example.com", "hash");
+    when(authService.registerUserWithProfile(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(user);
+
+    mockMvc.perform(post("/api/auth/register/full").contentType(MediaType.APPLICATION_JSON).content("""
+            {"username": "alice", "email": "alice@example.com", "password": "secret",
+             "dateOfBirth": "1990-05-17", "heightCm": "168", "currentWeightKg": 61.5,
+             "gender": "female", "activityLevel": "", "fitnessGoal": "BUILD_MUSCLE"}
+            """))
+        .andExpect(status().isOk());
+
+    verify(authService).registerUserWithProfile("alice", "alice@example.com", "secret",
+        LocalDate.of(1990, 5, 17), 168, 61.5, User.Gender.FEMALE, null,
+        User.FitnessGoal.BUILD_MUSCLE, null, null);
+  }
+
+  @Test
+  void rejectsMalformedNumberBeforeTheService() throws Exception {
+    mockMvc.perform(post("/api/auth/register/full").contentType(MediaType.APPLICATION_JSON).content("""
+            {"username": "alice", "email": "alice@example.com", "password": "secret", "heightCm": "tall"}
+            """))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Invalid heightCm value: tall"));
+
+    verifyNoInteractions(authService);
+  }
+
+  @Test
+  void rejectsConstraintViolationsBeforeTheService() throws Exception {
+    mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content("""
+            {"username": "alice", "email": "not-an-email", "password": "secret"}
+            """))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Email must be valid"));
+
+    mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content("""
+            {"username": "alice", "email": "alice@example.com", "password": "secret", "dateOfBirth": "17/05/1990"}
+            """))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Invalid date format. Please use YYYY-MM-DD"));
+
+    verifyNoInteractions(authService);
+  }
+}
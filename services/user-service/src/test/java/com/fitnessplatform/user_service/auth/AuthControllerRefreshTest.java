@@ -0,0 +1,76 @@
+package com.fitnessplatform.user_service.auth;
+
+import com.fitnessplatform.user_service.jwt.JwtUtil;
+import com.fitnessplatform.user_service.jwt.TokenEpochTable;
+import com.fitnessplatform.user_service.jwt.VerifiedToken;
+import com.fitnessplatform.user_service.revocation.TokenRevocationService;
+import com.fitnessplatform.user_service.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerRefreshTest {
+
+  private final User user = new User("alice", "alice@example.com", "hash");
+  private final TokenEpochTable tokenEpochTable = new TokenEpochTable();
+  private AuthService authService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    user.setId(42L);
+    ReflectionTestUtils.setField(tokenEpochTable, "tokenRevocationService", new TokenRevocationService());
+    authService = mock(AuthService.class);
+    when(authService.getUserByEmail("alice@example.com")).thenReturn(user);
+
+    // The refresh token was issued at epoch 0
+    JwtUtil jwtUtil = mock(JwtUtil.class);
+    when(jwtUtil.verify("refresh")).thenReturn(new VerifiedToken("jti-1", 42L, "alice@example.com",
+        VerifiedToken.REFRESH, 0, new Date(System.currentTimeMillis() + 60_000)));
+    when(jwtUtil.generateToken(any())).thenReturn("access");
+
+    AuthController controller = new AuthController();
+    ReflectionTestUtils.setField(controller, "authService", authService);
+    ReflectionTestUtils.setField(controller, "jwtUtil", jwtUtil);
+    ReflectionTestUtils.setField(controller, "tokenRevocationService", mock(TokenRevocationService.class));
+    ReflectionTestUtils.setField(controller, "tokenEpochTable", tokenEpochTable);
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  @Test
+  void refreshesWhileTheEpochIsCurrent() throws Exception {
+    refresh().andExpect(status().isOk());
+  }
+
+  @Test
+  void rejectsRefreshTokensIssuedBeforeAPasswordChange() throws Exception {
+    // What AuthService.updatePassword does
+    user.bumpTokenEpoch();
+    tokenEpochTable.bump(42L, user.getTokenEpoch());
+
+    refresh().andExpect(status().is4xxClientError());
+  }
+
+  @Test
+  void rejectsRefreshTokensOfDeactivatedUsers() throws Exception {
+    user.setIsActive(false);
+
+    refresh().andExpect(status().is4xxClientError());
+  }
+
+  private ResultActions refresh() throws Exception {
+    return mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"refreshToken\": \"refresh\"}"));
+  }
+}
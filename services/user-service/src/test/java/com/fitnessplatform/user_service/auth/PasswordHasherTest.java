@@ -0,0 +1,105 @@
+package com.fitnessplatform.user_service.auth;
+
+import com.fitnessplatform.user_service.config.BCryptCostCalibrator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+  private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  void rejectsWorkWhenPoolAndQueueAreFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PasswordEncoder encoder = mock(PasswordEncoder.class);
+    when(encoder.encode(anyString())).thenAnswer(inv -> {
+      started.countDown();
+      release.await();
+      return "hash";
+    });
+
+    PasswordHasher hasher = new PasswordHasher();
+    ReflectionTestUtils.setField(hasher, "passwordEncoder", encoder);
+    ReflectionTestUtils.setField(hasher, "threads", 1);
+    ReflectionTestUtils.setField(hasher, "queueCapacity", 1);
+    ReflectionTestUtils.setField(hasher, "meterRegistry", new SimpleMeterRegistry());
+    hasher.start();
+    try {
+      Future<String> running = callers.submit(() -> hasher.encode("a"));
+      started.await();
+      Future<String> queued = callers.submit(() -> hasher.encode("b"));
+      while ((int) hasher.stats().get("queueDepth") == 0) {
+        Thread.sleep(1);
+      }
+
+      PasswordHashingRejectedException rejected =
+          assertThrows(PasswordHashingRejectedException.class, () -> hasher.encode("c"));
+      assertTrue(rejected.getRetryAfterSeconds() >= 1);
+
+      release.countDown();
+      assertEquals("hash", running.get());
+      assertEquals("hash", queued.get());
+
+      Map<String, Object> stats = hasher.stats();
+      assertEquals(1L, stats.get("rejected"));
+      assertEquals(2L, ((Map<?, ?>) stats.get("encode")).get("count"));
+    } finally {
+      hasher.stop();
+    }
+  }
+
+  @Test
+  void rehashesHashesStoredAtAnotherCost() throws Exception {
+    BCryptCostCalibrator calibrator = mock(BCryptCostCalibrator.class);
+    when(calibrator.getCost()).thenReturn(5);
+
+    PasswordHasher hasher = new PasswordHasher();
+    ReflectionTestUtils.setField(hasher, "passwordEncoder", new BCryptPasswordEncoder(5));
+    ReflectionTestUtils.setField(hasher, "bCryptCostCalibrator", calibrator);
+    ReflectionTestUtils.setField(hasher, "threads", 1);
+    ReflectionTestUtils.setField(hasher, "queueCapacity", 4);
+    ReflectionTestUtils.setField(hasher, "meterRegistry", new SimpleMeterRegistry());
+    hasher.start();
+    try {
+      String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+      assertEquals(4, BCryptCostCalibrator.costOf(oldHash));
+      assertTrue(hasher.needsRehash(oldHash));
+
+      CountDownLatch done = new CountDownLatch(1);
+      AtomicReference<String> newHash = new AtomicReference<>();
+      hasher.rehashInBackground("secret", encoded -> {
+        newHash.set(encoded);
+        done.countDown();
+      });
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      assertEquals(5, BCryptCostCalibrator.costOf(newHash.get()));
+      assertFalse(hasher.needsRehash(newHash.get()));
+      assertTrue(hasher.matches("secret", newHash.get()));
+    } finally {
+      hasher.stop();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.fitnessplatform.user_service.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessplatform.user_service.user.ProfileOptionsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrecomputedResponseTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final PrecomputedResponse response =
+      PrecomputedResponse.of(mapper, ProfileOptionsResponse.current(), CacheControl.noCache());
+
+  @Test
+  void servesTheSameGzipAndIdentityBody() throws Exception {
+    ResponseEntity<byte[]> plain = response.serve(null, null);
+    ResponseEntity<byte[]> gzip = response.serve("br, gzip;q=0.8", null);
+
+    assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    byte[] inflated = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody())).readAllBytes();
+    assertArrayEquals(plain.getBody(), inflated);
+    assertNotEquals(plain.getHeaders().getETag(), gzip.getHeaders().getETag());
+
+    JsonNode json = mapper.readTree(plain.getBody());
+    assertEquals("MALE", json.at("/options/genders/0").asText());
+    assertEquals("METRIC", json.at("/options/units/0").asText());
+
+    // Prebuilt: repeated requests get the same instance
+    assertSame(plain, response.serve(null, null));
+  }
+
+  @Test
+  void answersMatchingValidatorWithNotModified() {
+    String etag = response.serve(null, null).getHeaders().getETag();
+
+    assertEquals(HttpStatus.NOT_MODIFIED, response.serve(null, etag).getStatusCode());
+    assertEquals(HttpStatus.OK, response.serve("gzip", etag).getStatusCode()); // Different variant
+  }
+
+  @Test
+  void honoursRefusedGzip() {
+    assertFalse(PrecomputedResponse.acceptsGzip("gzip;q=0, deflate"));
+    assertTrue(PrecomputedResponse.acceptsGzip("deflate, *"));
+    assertFalse(PrecomputedResponse.acceptsGzip("identity"));
+  }
+}
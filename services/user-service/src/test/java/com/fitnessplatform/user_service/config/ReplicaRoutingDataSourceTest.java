@@ -0,0 +1,75 @@
+package com.fitnessplatform.user_service.config;
+
+import com.fitnessplatform.user_service.jwt.VerifiedToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+  private final DataSource primary = mock(DataSource.class);
+  private final DataSource replica = mock(DataSource.class);
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+  private ReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replica.getConnection()).thenReturn(replicaConnection);
+
+    ReadYourWritesTracker tracker = new ReadYourWritesTracker();
+    ReflectionTestUtils.setField(tracker, "windowMillis", 60_000L);
+    routing = new ReplicaRoutingDataSource(List.of("replica-0"), List.of(), tracker);
+    routing.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, primary, "replica-0", replica));
+    routing.afterPropertiesSet();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void routesReadOnlyTransactionsToReplica() throws Exception {
+    assertSame(primaryConnection, routing.getConnection());
+
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertSame(replicaConnection, routing.getConnection());
+  }
+
+  @Test
+  void keepsAUsersReadsOnPrimaryAfterTheyWrite() throws Exception {
+    authenticate(7L);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertSame(replicaConnection, routing.getConnection());
+
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    routing.getConnection(); // Write
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertSame(primaryConnection, routing.getConnection());
+
+    authenticate(8L); // Other users are unaffected
+    assertSame(replicaConnection, routing.getConnection());
+  }
+
+  private void authenticate(long userId) {
+    VerifiedToken token = new VerifiedToken("jti", userId, "u@example.com", VerifiedToken.ACCESS, 0, new Date());
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(token, null, List.of()));
+  }
+}
@@ -0,0 +1,59 @@
+package com.fitnessplatform.user_service.config;
+
+import com.fitnessplatform.user_service.auth.AuthService;
+import com.fitnessplatform.user_service.jwt.JwtUtil;
+import com.fitnessplatform.user_service.user.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Handlers that read (read-only, so a replica) and then write in one request. The "replica"
+// is the primary database opened read-only, so a write routed to it fails like on a standby.
+@SpringBootTest(properties = {
+    "datasource.replica-urls=jdbc:postgresql://localhost:5432/fitness_platform?options=-c%20default_transaction_read_only=on",
+    "datasource.read-your-writes-ms=0",
+    "jwt.keys.allow-ephemeral=true",
+    "password.bcrypt.cost=4"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private AuthService authService;
+
+  @Autowired
+  private JwtUtil jwtUtil;
+
+  @Test
+  void writesAfterAReplicaReadGoToThePrimary() throws Exception {
+    String email = "routing-" + UUID.randomUUID() + "@example.com";
+    User user = authService.registerUser("routing", email, "first-password", null);
+    String bearer = "Bearer " + jwtUtil.generateToken(user);
+
+    mockMvc.perform(put("/api/users/" + user.getId() + "/password")
+            .header("Authorization", bearer)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"currentPassword\": \"first-password\", \"newPassword\": \"second-password\"}"))
+        .andExpect(status().isOk());
+
+    // The password change bumped the token epoch; sign a fresh token for the delete
+    bearer = "Bearer " + jwtUtil.generateToken(authService.getUserProfile(user.getId()));
+    mockMvc.perform(delete("/api/users/" + user.getId())
+            .header("Authorization", bearer)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"password\": \"second-password\"}"))
+        .andExpect(status().isOk());
+  }
+}
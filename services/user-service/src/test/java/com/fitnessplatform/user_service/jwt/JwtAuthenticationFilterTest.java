@@ -0,0 +1,143 @@
+package com.fitnessplatform.user_service.jwt;
+
+import com.fitnessplatform.user_service.revocation.InMemoryRevocationBackend;
+import com.fitnessplatform.user_service.revocation.TokenRevocationService;
+import com.fitnessplatform.user_service.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+  private JwtUtil jwtUtil;
+  private JwtAuthenticationFilter filter;
+  private UserDetailsService userDetailsService;
+  private TokenEpochTable tokenEpochTable;
+  private TokenRevocationService tokenRevocationService;
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    JwtUtil real = new JwtUtil();
+    ReflectionTestUtils.setField(real, "secret", "testSecretKey12345678901234567890123456789012345678901234567890");
+    ReflectionTestUtils.setField(real, "jwtExpiration", 60_000L);
+    ReflectionTestUtils.setField(real, "refreshExpiration", 120_000L);
+    ReflectionTestUtils.setField(real, "signingAlgorithm", "ES256");
+    ReflectionTestUtils.setField(real, "acceptHs256", true);
+    ReflectionTestUtils.setField(real, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(real, "signingKeys", JwtUtilTest.ephemeralKeys());
+    real.init();
+
+    User user = new User("alice", "alice@example.com", "hash");
+    user.setId(42L);
+    token = real.generateToken(user);
+
+    jwtUtil = spy(real);
+    userDetailsService = mock(UserDetailsService.class);
+    when(userDetailsService.loadUserByUsername(anyString())).thenAnswer(inv ->
+        org.springframework.security.core.userdetails.User.withUsername(inv.getArgument(0))
+            .password("hash").authorities("ROLE_USER").build());
+
+    filter = new JwtAuthenticationFilter();
+    ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+    ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+    TokenRevocationService sharedRevocations = new TokenRevocationService();
+    ReflectionTestUtils.setField(sharedRevocations, "backend", new InMemoryRevocationBackend());
+    tokenEpochTable = new TokenEpochTable();
+    ReflectionTestUtils.setField(tokenEpochTable, "tokenRevocationService", sharedRevocations);
+    ReflectionTestUtils.setField(tokenEpochTable, "maxTokenLifetimeMillis", 120_000L);
+    ReflectionTestUtils.setField(filter, "tokenEpochTable", tokenEpochTable);
+    tokenRevocationService = mock(TokenRevocationService.class);
+    ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void verifiesTokenExactlyOncePerRequest() throws Exception {
+    int requests = 1_000;
+    for (int i = 0; i < requests; i++) {
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/42");
+      request.addHeader("Authorization", "Bearer " + token);
+      filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+      Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+      VerifiedToken principal = (VerifiedToken) auth.getPrincipal();
+      assertEquals(42L, principal.userId());
+      assertEquals("alice@example.com", principal.email());
+      assertFalse(principal.isRefreshToken());
+      SecurityContextHolder.clearContext();
+    }
+
+    // One signature verification per request, and no legacy re-parsing
+    verify(jwtUtil, times(requests)).verify(token);
+    verify(jwtUtil, never()).extractClaim(anyString(), any());
+  }
+
+  @Test
+  void rejectsTamperedToken() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/42");
+    request.addHeader("Authorization", "Bearer " + token.substring(0, token.length() - 2) + "xx");
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void statelessModeSkipsUserLookupAndHonoursEpoch() throws Exception {
+    ReflectionTestUtils.setField(filter, "stateless", true);
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/42");
+    request.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    verifyNoInteractions(userDetailsService);
+    SecurityContextHolder.clearContext();
+
+    // Password change bumps the epoch, so the old token is rejected
+    tokenEpochTable.bump(42L, 1);
+    MockHttpServletRequest afterBump = new MockHttpServletRequest("GET", "/api/users/42");
+    afterBump.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(afterBump, new MockHttpServletResponse(), new MockFilterChain());
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void statelessModeRejectsTokensOfDeletedUsers() throws Exception {
+    ReflectionTestUtils.setField(filter, "stateless", true);
+    tokenEpochTable.revokeAll(42L);
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/42");
+    request.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void rejectsRevokedToken() throws Exception {
+    VerifiedToken verified = jwtUtil.verify(token);
+    when(tokenRevocationService.isRevoked(verified.tokenId())).thenReturn(true);
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/42");
+    request.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+}
@@ -0,0 +1,103 @@
+package com.fitnessplatform.user_service.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class QueryBudgetFilterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final QueryBudgetFilter filter = new QueryBudgetFilter();
+  private final SqlProfilingListener listener = new SqlProfilingListener();
+  private DataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    DataSource target = mock(DataSource.class);
+    Connection connection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    when(target.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString())).thenReturn(statement);
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1});
+
+    ReflectionTestUtils.setField(listener, "slowQueryMs", 200L);
+    ReflectionTestUtils.setField(listener, "slowQuerySampleRate", 1.0);
+    dataSource = ProxyDataSourceBuilder.create(target).listener(listener).build();
+
+    ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(filter, "enabled", true);
+    ReflectionTestUtils.setField(filter, "defaultBudget", 5);
+    ReflectionTestUtils.setField(filter, "handlerBudgetEntries", List.of("changePassword=2"));
+    ReflectionTestUtils.setField(filter, "repeatedQueryThreshold", 3);
+    filter.init();
+  }
+
+  @Test
+  void countsStatementsAndRoundTripsPerRequest() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/users/1/password");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+        new HandlerMethod(this, getClass().getDeclaredMethod("changePassword")));
+
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+      try (Connection connection = dataSource.getConnection()) {
+        for (int i = 0; i < 3; i++) {
+          PreparedStatement select = connection.prepareStatement("select * from users where id=?");
+          select.setLong(1, 1L);
+          select.executeQuery();
+        }
+        PreparedStatement update = connection.prepareStatement("update users set password=? where id=?");
+        update.setString(1, "hash");
+        update.setLong(2, 1L);
+        update.addBatch();
+        update.setString(1, "hash");
+        update.setLong(2, 2L);
+        update.addBatch();
+        update.executeBatch();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    DistributionSummary summary = meterRegistry.get("sql.statements.per.request")
+        .tag("handler", "changePassword").summary();
+    assertEquals(1, summary.count());
+    assertEquals(5, summary.totalAmount()); // 3 selects + a batch of 2
+    assertNull(RequestQueryStats.current());
+  }
+
+  @Test
+  void parameterShapesNeverIncludeValues() throws Exception {
+    QueryInfo query = new QueryInfo("select * from users where email=? and id=?");
+    query.getParametersList().add(List.of(
+        new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+            new Object[] {1, "someone@example.com"}),
+        new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+            new Object[] {2, 0})));
+
+    String shapes = SqlProfilingListener.parameterShapes(List.of(query));
+    assertEquals("[String, Null]", shapes);
+    assertFalse(shapes.contains("someone"));
+  }
+
+  // Stands in for the controller method the filter reports
+  private void changePassword() {
+  }
+}
@@ -0,0 +1,73 @@
+package com.fitnessplatform.user_service.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+  private static final long TICK = 1000;
+
+  @Test
+  void expiresItemsOnlyAfterTheirDeadline() {
+    long start = 1_000_000_000_000L;
+    TimingWheel<String> wheel = new TimingWheel<>(TICK, start);
+    List<String> expired = new ArrayList<>();
+
+    wheel.schedule("soon", start + 5 * TICK);
+    wheel.schedule("hour", start + 3_600 * TICK);
+    wheel.schedule("week", start + 7 * 24 * 3_600 * TICK);
+
+    wheel.advance(start + 4 * TICK, expired::add);
+    assertTrue(expired.isEmpty());
+    wheel.advance(start + 5 * TICK, expired::add);
+    assertEquals(List.of("soon"), expired);
+
+    wheel.advance(start + 3_599 * TICK, expired::add);
+    assertEquals(1, expired.size());
+    wheel.advance(start + 3_600 * TICK, expired::add);
+    assertEquals(List.of("soon", "hour"), expired);
+
+    wheel.advance(start + 7 * 24 * 3_600 * TICK, expired::add);
+    assertEquals(List.of("soon", "hour", "week"), expired);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void pastDeadlineExpiresOnNextTick() {
+    TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+    List<String> expired = new ArrayList<>();
+    wheel.advance(10 * TICK, expired::add);
+
+    wheel.schedule("late", 2 * TICK);
+    wheel.advance(11 * TICK, expired::add);
+    assertEquals(List.of("late"), expired);
+  }
+
+  @Test
+  void randomDeadlinesExpireInTheRightTick() {
+    long start = 123_456_789L * TICK;
+    TimingWheel<Long> wheel = new TimingWheel<>(TICK, start);
+    Random random = new Random(7);
+    int count = 10_000;
+    for (int i = 0; i < count; i++) {
+      long deadline = start + (long) (random.nextDouble() * 8 * 24 * 3_600) * TICK;
+      wheel.schedule(deadline, deadline);
+    }
+
+    int[] expired = new int[1];
+    for (long now = start; expired[0] < count; now += 97 * TICK) {
+      long bound = now;
+      wheel.advance(now, deadline -> {
+        assertTrue(deadline <= bound, "expired early");
+        assertTrue(deadline > bound - 97 * TICK, "expired late");
+        expired[0]++;
+      });
+    }
+    assertEquals(0, wheel.size());
+  }
+}
@@ -0,0 +1,69 @@
+package com.fitnessplatform.user_service.throttle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleFilterTest {
+
+  private final LoginThrottleFilter filter = new LoginThrottleFilter();
+
+  @BeforeEach
+  void setUp() {
+    InMemoryLoginThrottleBackend backend = new InMemoryLoginThrottleBackend();
+    ReflectionTestUtils.setField(backend, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(backend, "tableSize", 1024);
+
+    ReflectionTestUtils.setField(filter, "backend", backend);
+    ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+    ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(filter, "enabled", true);
+    ReflectionTestUtils.setField(filter, "ipCapacity", 10);
+    ReflectionTestUtils.setField(filter, "ipRefillSeconds", 60L);
+    ReflectionTestUtils.setField(filter, "emailCapacity", 2);
+    ReflectionTestUtils.setField(filter, "emailRefillSeconds", 60L);
+    filter.init();
+  }
+
+  @Test
+  void rejectsRepeatedAttemptsOnOneEmailBeforeTheController() throws Exception {
+    // Case and whitespace do not give an attacker fresh buckets
+    String[] emails = {"victim@example.com", " Victim@Example.com", "VICTIM@example.com"};
+    int[] expected = {200, 200, 429};
+
+    for (int i = 0; i < emails.length; i++) {
+      MockFilterChain chain = new MockFilterChain();
+      MockHttpServletResponse response = login(emails[i], chain);
+      assertEquals(expected[i], response.getStatus());
+      if (expected[i] == 200) {
+        // The controller still sees the whole body
+        String forwarded = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(forwarded.contains("\"password\":\"guess\""));
+      } else {
+        assertNull(chain.getRequest(), "throttled attempts must not reach the controller");
+        assertNotNull(response.getHeader("Retry-After"));
+      }
+    }
+
+    assertEquals(200, login("other@example.com", new MockFilterChain()).getStatus());
+  }
+
+  private MockHttpServletResponse login(String email, MockFilterChain chain) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", LoginThrottleFilter.LOGIN_PATH);
+    request.setRemoteAddr("198.51.100.20");
+    request.setContentType("application/json");
+    request.setContent(("{\"email\":\"" + email + "\",\"password\":\"guess\"}").getBytes(StandardCharsets.UTF_8));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+}
@@ -0,0 +1,87 @@
+package com.fitnessplatform.user_service.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTableTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+  private final LoginThrottleLimit limit = new LoginThrottleLimit("email", 3, 60_000);
+
+  @Test
+  void rejectsOnceTheBucketIsEmptyAndRefillsOverTime() {
+    TokenBucketTable table = new TokenBucketTable(1024, limit, clock::get);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, table.tryAcquire("victim@example.com"));
+    }
+    long wait = table.tryAcquire("victim@example.com");
+    assertTrue(wait > 0 && wait <= 20_000, "one token every 20 s, got " + wait);
+    assertEquals(0, table.tryAcquire("someone-else@example.com"));
+
+    clock.addAndGet(20_000);
+    assertEquals(0, table.tryAcquire("victim@example.com"));
+    assertTrue(table.tryAcquire("victim@example.com") > 0);
+  }
+
+  @Test
+  void idleBucketsGiveUpTheirSlotsAndCrowdingKeepsTheLimit() {
+    TokenBucketTable table = new TokenBucketTable(2, limit, clock::get);
+
+    // Two keys fill both slots of a two-slot table; a third finds no room and must wait
+    // until one of them has refilled (one token of three used: 20 s)
+    assertEquals(0, table.tryAcquire("a"));
+    assertEquals(0, table.tryAcquire("b"));
+    assertEquals(20_000, table.tryAcquire("c"));
+    assertEquals(1, table.saturated());
+
+    // Crowding does not reset a draining bucket either
+    assertEquals(0, table.tryAcquire("a"));
+    assertEquals(0, table.tryAcquire("a"));
+    assertTrue(table.tryAcquire("a") > 0);
+
+    // After a full refill period the old buckets are as good as new and get taken over
+    clock.addAndGet(60_000);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, table.tryAcquire("c"));
+    }
+    assertTrue(table.tryAcquire("c") > 0);
+    assertEquals(1, table.saturated());
+  }
+
+  @Test
+  void concurrentAttemptsNeverExceedCapacity() throws Exception {
+    TokenBucketTable table = new TokenBucketTable(1024, new LoginThrottleLimit("ip", 100, 3_600_000), clock::get);
+    AtomicInteger allowed = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < 1_000; i++) {
+          if (table.tryAcquire("203.0.113.7") == 0) {
+            allowed.incrementAndGet();
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(100, allowed.get());
+  }
+}
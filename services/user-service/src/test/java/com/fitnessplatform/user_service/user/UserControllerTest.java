@@ -0,0 +1,107 @@
+package com.fitnessplatform.user_service.user;
+
+import com.fitnessplatform.user_service.auth.AuthService;
+import com.fitnessplatform.user_service.jwt.VerifiedToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+
+  private AuthService authService;
+  private NamedParameterJdbcTemplate jdbcTemplate;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    authService = mock(AuthService.class);
+    UserController controller = new UserController();
+    ReflectionTestUtils.setField(controller, "authService", authService);
+    jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    UserProfilePatcher patcher = new UserProfilePatcher();
+    ReflectionTestUtils.setField(patcher, "jdbcTemplate", jdbcTemplate);
+    ReflectionTestUtils.setField(controller, "userProfilePatcher", patcher);
+    mockMvc = MockMvcBuilders.standaloneSetup(controller)
+        .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+        .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void rejectsRequestsWithoutAVerifiedToken() throws Exception {
+    // e.g. authenticated some other way, with a principal that is not a VerifiedToken
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+
+    mockMvc.perform(get("/api/users/7")).andExpect(status().isUnauthorized());
+
+    verifyNoInteractions(authService);
+  }
+
+  @Test
+  void rejectsOtherUsersProfiles() throws Exception {
+    signInAs(8L);
+
+    mockMvc.perform(get("/api/users/7")).andExpect(status().isForbidden());
+
+    verifyNoInteractions(authService);
+  }
+
+  @Test
+  void patchWithoutIfMatchIsRejectedWith428() throws Exception {
+    signInAs(7L);
+
+    mockMvc.perform(patch("/api/users/7").contentType("application/merge-patch+json")
+            .content("{\"currentWeightKg\": 70.5}"))
+        .andExpect(status().isPreconditionRequired());
+
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void patchAgainstAStaleVersionIsRejectedWith412() throws Exception {
+    signInAs(7L);
+    // The guarded UPDATE matches no row because the profile is already at version 5
+    when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(0);
+    when(jdbcTemplate.queryForObject(anyString(), anyMap(), eq(Long.class))).thenReturn(5L);
+
+    mockMvc.perform(patch("/api/users/7").contentType("application/merge-patch+json")
+            .header(HttpHeaders.IF_MATCH, ProfileETag.of(3))
+            .content("{\"currentWeightKg\": 70.5}"))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(header().string(HttpHeaders.ETAG, ProfileETag.of(5)));
+  }
+
+  private void signInAs(long userId) {
+    VerifiedToken token = new VerifiedToken("jti", userId, "user@example.com", VerifiedToken.ACCESS, 0,
+        new Date(System.currentTimeMillis() + 60_000));
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(token, null, List.of()));
+  }
+}
@@ -0,0 +1,56 @@
+package com.fitnessplatform.user_service.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserProfilePatcherTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final UserProfilePatcher patcher = new UserProfilePatcher();
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    when(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(1);
+    ReflectionTestUtils.setField(patcher, "jdbcTemplate", jdbcTemplate);
+  }
+
+  @Test
+  void nullClearsAMemberAndAbsentMembersAreLeftAlone() throws Exception {
+    assertEquals(4, patcher.patch(7L, 3, json("{\"targetWeightKg\": null, \"heightCm\": 180}")));
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+    verify(jdbcTemplate).update(sql.capture(), params.capture());
+    assertTrue(sql.getValue().contains("target_weight_kg = :target_weight_kg"));
+    assertTrue(params.getValue().hasValue("target_weight_kg"));
+    assertNull(params.getValue().getValue("target_weight_kg"));
+    assertEquals(180, params.getValue().getValue("height_cm"));
+    assertFalse(sql.getValue().contains("current_weight_kg"));
+    assertFalse(sql.getValue().contains("username"));
+  }
+
+  @Test
+  void rejectsFractionalHeights() {
+    RuntimeException e = assertThrows(RuntimeException.class,
+        () -> patcher.patch(7L, 3, json("{\"heightCm\": 175.9}")));
+    assertEquals("heightCm must be a positive integer", e.getMessage());
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  private JsonNode json(String body) throws Exception {
+    return objectMapper.readTree(body);
+  }
+}
@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# Time from JVM launch to the first successful POST /api/auth/login, and the RSS at that
+# moment, for the plain executable jar versus the fast-startup build (Spring AOT + AppCDS)
+# and, if one was built, the native executable.
+#
+#   docker compose up -d postgres            (from the repository root)
+#   mvn -Pfast-startup package -DskipTests   (from services/user-service)
+#   ./startup-benchmark.sh [runs]
+#
+# Environment: APP_ARGS (extra application arguments for every variant; by default the
+# service signs with an ephemeral key, set JWT_KEYS_DIR to use real ones),
+# LOGIN_EMAIL / LOGIN_PASSWORD (registered on the first run if missing).
+set -euo pipefail
+
+cd "$(dirname "$0")"
+RUNS=${1:-5}
+URL=http://localhost:8091
+EMAIL=${LOGIN_EMAIL:-startup-benchmark@example.com}
+PASSWORD=${LOGIN_PASSWORD:-Startup-Benchmark-1}
+APP_ARGS="--jwt.keys.allow-ephemeral=true ${APP_ARGS:-}"
+VERSION=$(sed -n 's:^\t<version>\(.*\)</version>:\1:p' pom.xml | head -1)
+JAR=user-service-$VERSION-exec.jar
+
+declare -A COMMANDS=(
+  [plain]="java -jar target/$JAR"
+  [aot-cds]="java -XX:SharedArchiveFile=target/fast-startup/application.jsa -Dspring.aot.enabled=true -jar target/fast-startup/$JAR"
+)
+VARIANTS=(plain aot-cds)
+if [[ -x target/user-service ]]; then
+  COMMANDS[native]="target/user-service"
+  VARIANTS+=(native)
+fi
+[[ -f target/$JAR ]] || { echo "target/$JAR not found: run mvn -Pfast-startup package first" >&2; exit 1; }
+[[ -f target/fast-startup/application.jsa ]] || { echo "No CDS archive: run mvn -Pfast-startup package first" >&2; exit 1; }
+
+login() {
+  curl -s -o /dev/null -w '%{http_code}' -X POST "$URL/api/auth/login" \
+    -H 'Content-Type: application/json' -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" || true
+}
+
+register() {
+  curl -s -o /dev/null -X POST "$URL/api/auth/register" \
+    -H 'Content-Type: application/json' \
+    -d "{\"username\":\"Startup Benchmark\",\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" || true
+}
+
+# Prints "<ms to first login> <RSS MB>" for one launch of the given command; with a
+# second argument, registers the account if the service rejects the login
+measure() {
+  local start status pid elapsed rss
+  start=$(date +%s%N)
+  $1 $APP_ARGS > target/startup-benchmark.log 2>&1 &
+  pid=$!
+  while true; do
+    status=$(login)
+    if [[ $status == 200 ]]; then
+      break
+    elif [[ $status == 400 && -n ${2:-} ]]; then
+      register
+    elif [[ $status == 400 ]]; then
+      echo "Login rejected for $EMAIL" >&2
+      kill $pid
+      exit 1
+    elif ! kill -0 $pid 2>/dev/null; then
+      echo "Process exited; see target/startup-benchmark.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  rss=$(awk '/VmRSS/ { printf "%.0f", $2 / 1024 }' /proc/$pid/status)
+  kill $pid
+  wait $pid 2>/dev/null || true
+  echo "$elapsed $rss"
+}
+
+# First launch only makes sure the account exists (and warms the OS page cache)
+measure "${COMMANDS[plain]}" setup > /dev/null
+
+printf '%-8s %5s %16s %8s\n' variant run first-login-ms rss-mb
+for variant in "${VARIANTS[@]}"; do
+  times=()
+  rsss=()
+  for run in $(seq 1 "$RUNS"); do
+    read -r ms rss < <(measure "${COMMANDS[$variant]}")
+    printf '%-8s %5d %16d %8d\n' "$variant" "$run" "$ms" "$rss"
+    times+=("$ms")
+    rsss+=("$rss")
+  done
+  median_ms=$(printf '%s\n' "${times[@]}" | sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }')
+  median_rss=$(printf '%s\n' "${rsss[@]}" | sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }')
+  printf '%-8s %5s %16d %8d\n' "$variant" median "$median_ms" "$median_rss"
+done